@@ -0,0 +1,219 @@
+package chess.engine.board;
+
+import static chess.engine.board.BoardUtils.NUM_TILES;
+import static chess.engine.board.BoardUtils.NUM_TILES_PER_ROW;
+
+//Attack tables and the attacked tile probe shared by BitBoard and SearchBoard.
+//Whether a tile is attacked is answered by looking outward from the tile for an attacker, never by generating moves:
+//knights, kings and pawns by a table lookup, sliders by finding the first piece along each precomputed ray.
+//The tiles a piece attacks are found the same way, see attacksFrom
+
+final class Attacks
+{
+    static final int[][] BISHOP_DIRECTIONS = {{-1, -1}, {-1, 1}, {1, -1}, {1, 1}}; //{row, column}
+    static final int[][] ROOK_DIRECTIONS = {{-1, 0}, {0, -1}, {0, 1}, {1, 0}};
+
+    private static final int[][] KNIGHT_OFFSETS = {{-2, -1}, {-2, 1}, {-1, -2}, {-1, 2}, {1, -2}, {1, 2}, {2, -1}, {2, 1}};
+    private static final int[][] KING_OFFSETS = {{-1, -1}, {-1, 0}, {-1, 1}, {0, -1}, {0, 1}, {1, -1}, {1, 0}, {1, 1}};
+
+    static final long[] KNIGHT_ATTACKS = initLeaperAttacks(KNIGHT_OFFSETS);
+    static final long[] KING_ATTACKS = initLeaperAttacks(KING_OFFSETS);
+    static final long[] WHITE_PAWN_ATTACKS = initLeaperAttacks(new int[][]{{-1, -1}, {-1, 1}}); //White pawns capture towards row 0
+    static final long[] BLACK_PAWN_ATTACKS = initLeaperAttacks(new int[][]{{1, -1}, {1, 1}});
+
+    static final long[][] BISHOP_RAYS = initRays(BISHOP_DIRECTIONS); //[direction][tile], the tiles a slider could reach on an empty board
+    static final long[][] ROOK_RAYS = initRays(ROOK_DIRECTIONS);
+    private static final long[] BISHOP_REACH = initReach(BISHOP_RAYS); //All four rays together
+    private static final long[] ROOK_REACH = initReach(ROOK_RAYS);
+
+    private static final int PAWN = 0; //Offsets of each piece type's mask, same order as PieceType
+    private static final int KNIGHT = 1;
+    private static final int BISHOP = 2;
+    private static final int QUEEN = 3;
+    private static final int ROOK = 4;
+    private static final int KING = 5;
+
+    private Attacks()
+    {
+        throw new RuntimeException("Not instantiable!");
+    }
+
+    static boolean isSquareAttacked(final long[] pieceBoards, final long occupancy, final int tile, final boolean byWhite) //pieceBoards in BitBoard.index order
+    {
+        final int offset = byWhite ? 0 : BitBoard.NUM_PIECE_TYPES;
+
+        if ((KNIGHT_ATTACKS[tile] & pieceBoards[offset + KNIGHT]) != 0 || (KING_ATTACKS[tile] & pieceBoards[offset + KING]) != 0)
+        {
+            return true;
+        }
+
+        final long pawnAttackers = byWhite ? BLACK_PAWN_ATTACKS[tile] : WHITE_PAWN_ATTACKS[tile]; //A white pawn attacks the tile from where a black pawn on it would attack
+        if ((pawnAttackers & pieceBoards[offset + PAWN]) != 0)
+        {
+            return true;
+        }
+
+        final long queens = pieceBoards[offset + QUEEN];
+        return isAttackedAlongRays(tile, BISHOP_RAYS, BISHOP_DIRECTIONS, BISHOP_REACH[tile] & (pieceBoards[offset + BISHOP] | queens), occupancy) ||
+               isAttackedAlongRays(tile, ROOK_RAYS, ROOK_DIRECTIONS, ROOK_REACH[tile] & (pieceBoards[offset + ROOK] | queens), occupancy);
+    }
+
+    static long attackersTo(final long[] pieceBoards, final long occupancy, final int tile) //Every piece of either color attacking the tile, pieces not in occupancy are ignored
+    {
+        final int black = BitBoard.NUM_PIECE_TYPES;
+        final long bishops = pieceBoards[BISHOP] | pieceBoards[QUEEN] | pieceBoards[black + BISHOP] | pieceBoards[black + QUEEN];
+        final long rooks = pieceBoards[ROOK] | pieceBoards[QUEEN] | pieceBoards[black + ROOK] | pieceBoards[black + QUEEN];
+
+        final long attackers = (KNIGHT_ATTACKS[tile] & (pieceBoards[KNIGHT] | pieceBoards[black + KNIGHT])) |
+                               (KING_ATTACKS[tile] & (pieceBoards[KING] | pieceBoards[black + KING])) |
+                               (BLACK_PAWN_ATTACKS[tile] & pieceBoards[PAWN]) |
+                               (WHITE_PAWN_ATTACKS[tile] & pieceBoards[black + PAWN]) |
+                               (nearestAlongRays(tile, BISHOP_RAYS, BISHOP_DIRECTIONS, occupancy) & bishops) |
+                               (nearestAlongRays(tile, ROOK_RAYS, ROOK_DIRECTIONS, occupancy) & rooks);
+
+        return attackers & occupancy;
+    }
+
+    static long attacksFrom(final int pieceType, final int tile, final boolean white, final long occupancy) //Tiles the piece attacks, whatever stands on them. pieceType by PieceType order
+    {
+        switch (pieceType)
+        {
+            case PAWN:
+                return white ? WHITE_PAWN_ATTACKS[tile] : BLACK_PAWN_ATTACKS[tile];
+            case KNIGHT:
+                return KNIGHT_ATTACKS[tile];
+            case BISHOP:
+                return slidingAttacks(tile, BISHOP_RAYS, BISHOP_DIRECTIONS, occupancy);
+            case ROOK:
+                return slidingAttacks(tile, ROOK_RAYS, ROOK_DIRECTIONS, occupancy);
+            case QUEEN:
+                return slidingAttacks(tile, BISHOP_RAYS, BISHOP_DIRECTIONS, occupancy) | slidingAttacks(tile, ROOK_RAYS, ROOK_DIRECTIONS, occupancy);
+            default:
+                return KING_ATTACKS[tile];
+        }
+    }
+
+    private static long slidingAttacks(final int tile, final long[][] rays, final int[][] directions, final long occupancy) //Each ray up to and including its first piece
+    {
+        long attacks = 0;
+
+        for (int i = 0; i < directions.length; i++)
+        {
+            final long ray = rays[i][tile];
+            final long blockers = ray & occupancy;
+            if (blockers == 0)
+            {
+                attacks |= ray;
+            }
+            else
+            {
+                final int nearest = isTowardsHigherTiles(directions[i]) ? Long.numberOfTrailingZeros(blockers) : 63 - Long.numberOfLeadingZeros(blockers);
+                attacks |= ray & ~rays[i][nearest]; //The ray from the blocker on is the same ray, starting one tile further
+            }
+        }
+
+        return attacks;
+    }
+
+    private static long nearestAlongRays(final int tile, final long[][] rays, final int[][] directions, final long occupancy) //The first piece along each ray
+    {
+        long nearestPieces = 0;
+
+        for (int i = 0; i < directions.length; i++)
+        {
+            final long blockers = rays[i][tile] & occupancy;
+            if (blockers != 0)
+            {
+                nearestPieces |= 1L << (isTowardsHigherTiles(directions[i]) ? Long.numberOfTrailingZeros(blockers) : 63 - Long.numberOfLeadingZeros(blockers));
+            }
+        }
+
+        return nearestPieces;
+    }
+
+    private static boolean isAttackedAlongRays(final int tile, final long[][] rays, final int[][] directions, final long sliders, final long occupancy)
+    {
+        if (sliders == 0) //Nothing that moves this way lines up with the tile
+        {
+            return false;
+        }
+
+        for (int i = 0; i < directions.length; i++)
+        {
+            final long blockers = rays[i][tile] & occupancy;
+            if (blockers != 0)
+            {
+                final int nearest = isTowardsHigherTiles(directions[i]) ? Long.numberOfTrailingZeros(blockers) : 63 - Long.numberOfLeadingZeros(blockers);
+                if ((sliders & (1L << nearest)) != 0)
+                {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    static boolean isTowardsHigherTiles(final int[] direction)
+    {
+        return direction[0] > 0 || (direction[0] == 0 && direction[1] > 0);
+    }
+
+    private static long[] initLeaperAttacks(final int[][] offsets) //Tiles a knight, king or pawn on each tile attacks
+    {
+        final long[] attacks = new long[NUM_TILES];
+
+        for (int i = 0; i < NUM_TILES; i++)
+        {
+            for (final int[] offset : offsets)
+            {
+                final int row = i / NUM_TILES_PER_ROW + offset[0];
+                final int column = i % NUM_TILES_PER_ROW + offset[1];
+                if (row >= 0 && row < NUM_TILES_PER_ROW && column >= 0 && column < NUM_TILES_PER_ROW)
+                {
+                    attacks[i] |= 1L << (row * NUM_TILES_PER_ROW + column);
+                }
+            }
+        }
+
+        return attacks;
+    }
+
+    private static long[][] initRays(final int[][] directions)
+    {
+        final long[][] rays = new long[directions.length][NUM_TILES];
+
+        for (int d = 0; d < directions.length; d++)
+        {
+            for (int i = 0; i < NUM_TILES; i++)
+            {
+                int row = i / NUM_TILES_PER_ROW + directions[d][0];
+                int column = i % NUM_TILES_PER_ROW + directions[d][1];
+
+                while (row >= 0 && row < NUM_TILES_PER_ROW && column >= 0 && column < NUM_TILES_PER_ROW)
+                {
+                    rays[d][i] |= 1L << (row * NUM_TILES_PER_ROW + column);
+                    row += directions[d][0];
+                    column += directions[d][1];
+                }
+            }
+        }
+
+        return rays;
+    }
+
+    private static long[] initReach(final long[][] rays)
+    {
+        final long[] reach = new long[NUM_TILES];
+
+        for (final long[] ray : rays)
+        {
+            for (int i = 0; i < NUM_TILES; i++)
+            {
+                reach[i] |= ray[i];
+            }
+        }
+
+        return reach;
+    }
+}
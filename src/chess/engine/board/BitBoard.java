@@ -0,0 +1,115 @@
+package chess.engine.board;
+
+import chess.engine.Color;
+import chess.engine.pieces.Piece;
+import com.google.common.collect.ImmutableList;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static chess.engine.board.BoardUtils.NUM_TILES;
+
+//Occupancy masks for every piece type and color, bit n of a mask is set when tile n holds that piece
+
+public final class BitBoard
+{
+    public static final int NUM_PIECE_TYPES = Piece.PieceType.values().length;
+
+    private final long[] pieceBoards; //Twelve masks, white pieces first then black, in PieceType order
+    private final long whiteOccupancy;
+    private final long blackOccupancy;
+    private final long allOccupancy;
+    private final Piece[] pieces; //The piece objects themselves, indexed by tile
+
+    BitBoard(final Piece[] boardConfig)
+    {
+        this.pieceBoards = new long[2 * NUM_PIECE_TYPES];
+        this.pieces = new Piece[NUM_TILES];
+
+        long white = 0L;
+        long black = 0L;
+
+        for (int i = 0; i < NUM_TILES; i++)
+        {
+            final Piece piece = boardConfig[i];
+            if (piece != null)
+            {
+                final long tileMask = 1L << i;
+                this.pieces[i] = piece;
+                this.pieceBoards[index(piece.getPieceType(), piece.getPieceColor())] |= tileMask;
+
+                if (piece.getPieceColor().isWhite())
+                {
+                    white |= tileMask;
+                }
+                else
+                {
+                    black |= tileMask;
+                }
+            }
+        }
+
+        this.whiteOccupancy = white;
+        this.blackOccupancy = black;
+        this.allOccupancy = white | black;
+    }
+
+    public static int index(final Piece.PieceType pieceType, final Color color) //Position of a piece type's mask in the array of twelve
+    {
+        return (color.isWhite() ? 0 : NUM_PIECE_TYPES) + pieceType.ordinal();
+    }
+
+    public Piece getPiece(final int position) //Returns null for an empty tile
+    {
+        return this.pieces[position];
+    }
+
+    public boolean isOccupied(final int position)
+    {
+        return (this.allOccupancy & (1L << position)) != 0;
+    }
+
+    public long getPieces(final Piece.PieceType pieceType, final Color color)
+    {
+        return this.pieceBoards[index(pieceType, color)];
+    }
+
+    public long getOccupancy(final Color color)
+    {
+        return color.isWhite() ? this.whiteOccupancy : this.blackOccupancy;
+    }
+
+    public long getOccupancy()
+    {
+        return this.allOccupancy;
+    }
+
+    long[] getPieceBoards() //The array itself, for StaticExchange to read
+    {
+        return this.pieceBoards;
+    }
+
+    public boolean isSquareAttacked(final int position, final Color attacker) //Looks outward from the tile, no moves are generated
+    {
+        return Attacks.isSquareAttacked(this.pieceBoards, this.allOccupancy, position, attacker.isWhite());
+    }
+
+    public long getAttacks(final int position) //Tiles the piece on the tile attacks, own pieces included, from precomputed tables. Zero for an empty tile
+    {
+        final Piece piece = this.pieces[position];
+        return piece == null ? 0L : Attacks.attacksFrom(piece.getPieceType().ordinal(), position, piece.getPieceColor().isWhite(), this.allOccupancy);
+    }
+
+    Collection<Piece> calculateActivePieces(final Color color) //Walks the set bits of a color's occupancy, in tile order
+    {
+        final List<Piece> activePieces = new ArrayList<>(Long.bitCount(getOccupancy(color)));
+
+        for (long occupancy = getOccupancy(color); occupancy != 0; occupancy &= occupancy - 1)
+        {
+            activePieces.add(this.pieces[Long.numberOfTrailingZeros(occupancy)]);
+        }
+
+        return ImmutableList.copyOf(activePieces);
+    }
+}
@@ -8,13 +8,11 @@ import chess.engine.player.WhitePlayer;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterables;
 
-import java.util.*;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.Collection;
 
 public class Board
 {
-    private final List<Tile> gameBoard;
+    private final BitBoard bitBoard;
     private final Collection<Piece> whitePieces;
     private final Collection<Piece> blackPieces;
 
@@ -24,20 +22,21 @@ public class Board
     private final Player current;
 
     private final Pawn enPassantPawn;
+    private final int castlingRights;
+    private final long zobristKey;
 
     private Board(final Builder builder)
     {
-        this.gameBoard = createGameBoard(builder);
-        this.whitePieces = calculateActivePieces(this.gameBoard, Color.WHITE);
-        this.blackPieces = calculateActivePieces(this.gameBoard, Color.BLACK);
-
-        final Collection<Moves> whiteStandardLegalMoves = getLegalMoves(this.whitePieces);
-        final Collection<Moves> blackStandardLegalMoves = getLegalMoves(this.blackPieces);
+        this.bitBoard = new BitBoard(builder.boardConfig);
+        this.castlingRights = Zobrist.calculateCastlingRights(builder.boardConfig);
+        this.zobristKey = builder.hasZobristKey ? builder.zobristKey : Zobrist.calculateKey(builder.boardConfig, builder.nextMoveMaker, builder.enPassantPawn);
+        this.whitePieces = this.bitBoard.calculateActivePieces(Color.WHITE);
+        this.blackPieces = this.bitBoard.calculateActivePieces(Color.BLACK);
+        this.enPassantPawn = builder.enPassantPawn;
 
-        this.white = new WhitePlayer(this, whiteStandardLegalMoves, blackStandardLegalMoves);
-        this.black = new BlackPlayer(this, whiteStandardLegalMoves, blackStandardLegalMoves);
+        this.white = new WhitePlayer(this); //Players only generate their moves when first asked for them
+        this.black = new BlackPlayer(this);
         this.current = builder.nextMoveMaker.choosePlayer(this.white, this.black);
-        this.enPassantPawn = builder.enPassantPawn;
     }
 
     @Override
@@ -56,7 +55,7 @@ public class Board
 
         for (int i = 0; i < BoardUtils.NUM_TILES; i++)
         {
-            final String tileText = this.gameBoard.get(i).toString();
+            final String tileText = getTile(i).toString();
             builder.append(String.format("%3s", tileText));
             if ((i + 1) % BoardUtils.NUM_TILES_PER_ROW == 0)
             {
@@ -87,18 +86,6 @@ public class Board
         return Iterables.unmodifiableIterable(Iterables.concat(this.white.getLegalMoves(), this.black.getLegalMoves()));
     }
 
-    private Collection<Moves> getLegalMoves(final Collection<Piece> pieces) //Gets the legal moves for some set of pieces
-    {
-        final List<Moves> legalMoves = new ArrayList<>();
-
-        for (final Piece piece : pieces)
-        {
-            legalMoves.addAll(piece.getLegalMoves(this));
-        }
-
-        return ImmutableList.copyOf(legalMoves);
-    }
-
     public Collection<Piece> getBlackPieces()
     {
         return this.blackPieces;
@@ -111,43 +98,27 @@ public class Board
 
     public Collection<Piece> getAllPieces()
     {
-        return Stream.concat(this.whitePieces.stream(), this.blackPieces.stream()).collect(Collectors.toList());
+        return ImmutableList.copyOf(Iterables.concat(this.whitePieces, this.blackPieces));
     }
 
-    private static Collection<Piece> calculateActivePieces(final List<Tile> gameBoard, final Color color) //Returns which pieces are currently on the board
+    public BitBoard getBitBoard()
     {
-        final List<Piece> activePieces = new ArrayList<>();
-
-        for (final Tile tile : gameBoard)
-        {
-            if (tile.isFull())
-            {
-                final Piece piece = tile.getPiece();
-                if (piece.getPieceColor() == color)
-                {
-                    activePieces.add(piece);
-                }
-            }
-        }
-
-        return ImmutableList.copyOf(activePieces);
+        return this.bitBoard;
     }
 
-    public Tile getTile(final int position)
+    public boolean isSquareAttacked(final int position, final Color attacker) //True if any of the attacker's pieces could capture on the tile
     {
-        return gameBoard.get(position);
+        return this.bitBoard.isSquareAttacked(position, attacker);
     }
 
-    private static List<Tile> createGameBoard(final Builder builder) //Creates the initial game board with 64 tiles
+    public Piece getPiece(final int position) //Returns null if the tile is empty
     {
-        final Tile[] tiles = new Tile[BoardUtils.NUM_TILES];
-
-        for (int i = 0; i < BoardUtils.NUM_TILES; i++)
-        {
-            tiles[i] = Tile.create(i, builder.boardConfig.get(i));
-        }
+        return this.bitBoard.getPiece(position);
+    }
 
-        return ImmutableList.copyOf(tiles);
+    public Tile getTile(final int position) //Tiles are only created on request, the board itself is stored as bitboards
+    {
+        return Tile.create(position, this.bitBoard.getPiece(position));
     }
 
     public static Board createStandardBoard() //Builds the board by placing the pieces into their initial positions
@@ -201,20 +172,32 @@ public class Board
         return this.enPassantPawn;
     }
 
+    public int getCastlingRights() //Zobrist.WHITE_KING_SIDE etc. for each side whose king and rook haven't moved
+    {
+        return this.castlingRights;
+    }
+
+    public long getZobristKey() //64-bit identity of the position, two boards with the same pieces, mover, castling rights and en passant share it
+    {
+        return this.zobristKey;
+    }
+
     public static class Builder
     {
-        Map<Integer, Piece> boardConfig;
+        Piece[] boardConfig;
         Color nextMoveMaker;
         Pawn enPassantPawn;
+        long zobristKey;
+        boolean hasZobristKey;
 
         public Builder()
         {
-            this.boardConfig = new HashMap<>();
+            this.boardConfig = new Piece[BoardUtils.NUM_TILES];
         }
 
         public Builder setPiece(final Piece piece) //Places a piece on a tile
         {
-            this.boardConfig.put(piece.getPiecePosition(), piece);
+            this.boardConfig[piece.getPiecePosition()] = piece;
 
             return this;
         }
@@ -235,5 +218,13 @@ public class Board
         {
             this.enPassantPawn = enPassantPawn;
         }
+
+        Builder setZobristKey(final long zobristKey) //Set by Moves.execute() from the previous board's key, otherwise it is calculated from scratch
+        {
+            this.zobristKey = zobristKey;
+            this.hasZobristKey = true;
+
+            return this;
+        }
     }
 }
@@ -0,0 +1,119 @@
+package chess.engine.board;
+
+import chess.engine.pieces.Piece;
+
+import static chess.engine.board.BoardUtils.getPositionAtCoordinate;
+
+//A move packed into the low 16 bits of an int, so search move lists can live in reusable int[] buffers instead of
+//Moves objects, which each keep their Board, moved piece and captured piece alive.
+//The start tile is in bits 0-5, the destination in bits 6-11 and the flags below in bits 12-15. In the flags, 4 marks a
+//capture and 8 a promotion, with the piece promoted to in the low two bits
+
+public final class CompactMove
+{
+    public static final int NO_MOVE = 0; //a8 to a8, never a real move
+
+    public static final int QUIET = 0;
+    public static final int PAWN_JUMP = 1;
+    public static final int KING_SIDE_CASTLE = 2;
+    public static final int QUEEN_SIDE_CASTLE = 3;
+    public static final int ATTACK = 4;
+    public static final int EN_PASSANT = 5;
+    public static final int PROMOTION = 8;
+    public static final int PROMOTION_ATTACK = 12;
+
+    //Added to PROMOTION or PROMOTION_ATTACK
+    public static final int KNIGHT_PROMOTION = 0;
+    public static final int BISHOP_PROMOTION = 1;
+    public static final int ROOK_PROMOTION = 2;
+    public static final int QUEEN_PROMOTION = 3;
+
+    private static final Piece.PieceType[] PROMOTION_TYPES = {Piece.PieceType.KNIGHT, Piece.PieceType.BISHOP, Piece.PieceType.ROOK, Piece.PieceType.QUEEN};
+
+    private CompactMove()
+    {
+        throw new RuntimeException("Not instantiable!");
+    }
+
+    public static int create(final int from, final int to, final int flags)
+    {
+        return from | (to << 6) | (flags << 12);
+    }
+
+    public static int getCurrentCoordinate(final int move)
+    {
+        return move & 0x3F;
+    }
+
+    public static int getDestination(final int move)
+    {
+        return (move >>> 6) & 0x3F;
+    }
+
+    public static int getFlags(final int move)
+    {
+        return (move >>> 12) & 0xF;
+    }
+
+    public static boolean isAttack(final int move) //Includes en passant and promotions that capture
+    {
+        return (getFlags(move) & ATTACK) != 0;
+    }
+
+    public static boolean isPromotion(final int move)
+    {
+        return (getFlags(move) & PROMOTION) != 0;
+    }
+
+    public static Piece.PieceType getPromotionType(final int move) //Null if the move isn't a promotion
+    {
+        return isPromotion(move) ? PROMOTION_TYPES[getFlags(move) & 0x3] : null;
+    }
+
+    public static int fromMove(final Moves move) //The packed form of one of the Moves a Board generates
+    {
+        if (move == null || move instanceof Moves.NullMove)
+        {
+            return NO_MOVE;
+        }
+
+        final int flags;
+        if (move instanceof Moves.PawnPromotion)
+        {
+            flags = (move.isAttack() ? PROMOTION_ATTACK : PROMOTION) + QUEEN_PROMOTION; //Board only promotes to a queen
+        }
+        else if (move instanceof Moves.PawnEnPassantAttackMove)
+        {
+            flags = EN_PASSANT;
+        }
+        else if (move instanceof Moves.PawnJump)
+        {
+            flags = PAWN_JUMP;
+        }
+        else if (move instanceof Moves.KingSideCastleMove)
+        {
+            flags = KING_SIDE_CASTLE;
+        }
+        else if (move instanceof Moves.QueenSideCastleMove)
+        {
+            flags = QUEEN_SIDE_CASTLE;
+        }
+        else
+        {
+            flags = move.isAttack() ? ATTACK : QUIET;
+        }
+
+        return create(move.getCurrentCoordinate(), move.getDestination(), flags);
+    }
+
+    public static Moves toMove(final Board board, final int move) //The matching legal move on the board, or the null move if there isn't one
+    {
+        return Moves.MoveFactory.createMove(board, getCurrentCoordinate(move), getDestination(move)); //Start and destination are unique while promotions are always to a queen
+    }
+
+    public static String toString(final int move) //Long algebraic notation, e.g. e2e4 or a7a8q
+    {
+        final String promotion = isPromotion(move) ? getPromotionType(move).toString().toLowerCase() : "";
+        return getPositionAtCoordinate(getCurrentCoordinate(move)) + getPositionAtCoordinate(getDestination(move)) + promotion;
+    }
+}
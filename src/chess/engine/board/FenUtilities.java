@@ -0,0 +1,229 @@
+package chess.engine.board;
+
+import chess.engine.Color;
+import chess.engine.pieces.*;
+
+import static chess.engine.board.BoardUtils.NUM_TILES;
+import static chess.engine.board.BoardUtils.NUM_TILES_PER_ROW;
+
+//Reads and writes positions in Forsyth-Edwards Notation, e.g. the starting position is
+//rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1
+//Castling rights become isFirstMove on the kings and rooks, the en passant target becomes the board's en passant pawn.
+//Board keeps no move clocks, so they are skipped when reading and written as 0 1
+
+public final class FenUtilities
+{
+    public static final String STANDARD_BOARD_FEN = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1";
+
+    private FenUtilities()
+    {
+        throw new RuntimeException("Not instantiable!");
+    }
+
+    public static Board createBoardFromFen(final String fen) //Parsed in one pass over the characters
+    {
+        final Piece[] pieces = new Piece[NUM_TILES];
+        int i = 0;
+        int tile = 0;
+
+        while (tile < NUM_TILES) //Piece placement, from a8 to h1
+        {
+            final char c = charAt(fen, i++);
+
+            if (c >= '1' && c <= '8')
+            {
+                tile += c - '0';
+            }
+            else if (c == '/')
+            {
+                if (tile % NUM_TILES_PER_ROW != 0)
+                {
+                    throw new RuntimeException("Wrong row length in FEN: " + fen);
+                }
+            }
+            else
+            {
+                pieces[tile] = createPiece(c, tile, fen);
+                tile++;
+            }
+        }
+
+        if (tile != NUM_TILES || charAt(fen, i++) != ' ')
+        {
+            throw new RuntimeException("Too many pieces in FEN: " + fen);
+        }
+
+        final char side = charAt(fen, i++);
+        if (side != 'w' && side != 'b')
+        {
+            throw new RuntimeException("Side to move must be w or b in FEN: " + fen);
+        }
+        final Color moveMaker = side == 'w' ? Color.WHITE : Color.BLACK;
+        expect(fen, i++, ' ');
+
+        int castlingRights = 0;
+        for (char c = charAt(fen, i++); c != ' '; c = charAt(fen, i++))
+        {
+            switch (c)
+            {
+                case 'K': castlingRights |= Zobrist.WHITE_KING_SIDE; break;
+                case 'Q': castlingRights |= Zobrist.WHITE_QUEEN_SIDE; break;
+                case 'k': castlingRights |= Zobrist.BLACK_KING_SIDE; break;
+                case 'q': castlingRights |= Zobrist.BLACK_QUEEN_SIDE; break;
+                case '-': break;
+                default: throw new RuntimeException("Unknown castling right " + c + " in FEN: " + fen);
+            }
+        }
+
+        int enPassantTarget = -1;
+        final char file = charAt(fen, i++);
+        if (file != '-' && file != ' ') //A missing field means no target, same as '-'
+        {
+            final char rank = charAt(fen, i++);
+            if (file < 'a' || file > 'h' || (rank != '3' && rank != '6'))
+            {
+                throw new RuntimeException("Bad en passant target in FEN: " + fen);
+            }
+            enPassantTarget = ('8' - rank) * NUM_TILES_PER_ROW + (file - 'a');
+        }
+
+        final Board.Builder builder = new Board.Builder();
+        for (final Piece piece : pieces)
+        {
+            if (piece != null)
+            {
+                builder.setPiece(withCastlingRights(piece, castlingRights));
+            }
+        }
+        builder.setMoveMaker(moveMaker);
+
+        if (enPassantTarget != -1) //The pawn that just jumped is one row past the target, away from the side to move
+        {
+            final Piece pawn = pieces[enPassantTarget + (moveMaker.isWhite() ? NUM_TILES_PER_ROW : -NUM_TILES_PER_ROW)];
+            if (pawn instanceof Pawn && pawn.getPieceColor() != moveMaker)
+            {
+                builder.setEnPassantPawn((Pawn) pawn);
+            }
+        }
+
+        return builder.build(); //The move clocks, if present, are ignored
+    }
+
+    public static String createFenFromBoard(final Board board)
+    {
+        final StringBuilder fen = new StringBuilder(90);
+
+        for (int row = 0; row < NUM_TILES_PER_ROW; row++)
+        {
+            int emptyTiles = 0;
+
+            for (int column = 0; column < NUM_TILES_PER_ROW; column++)
+            {
+                final Piece piece = board.getPiece(row * NUM_TILES_PER_ROW + column);
+                if (piece == null)
+                {
+                    emptyTiles++;
+                    continue;
+                }
+
+                if (emptyTiles > 0)
+                {
+                    fen.append(emptyTiles);
+                    emptyTiles = 0;
+                }
+
+                final char c = piece.getPieceType().toString().charAt(0);
+                fen.append(piece.getPieceColor().isWhite() ? c : Character.toLowerCase(c));
+            }
+
+            if (emptyTiles > 0)
+            {
+                fen.append(emptyTiles);
+            }
+            if (row < NUM_TILES_PER_ROW - 1)
+            {
+                fen.append('/');
+            }
+        }
+
+        fen.append(board.currentPlayer().getColor().isWhite() ? " w " : " b ");
+
+        final int castlingRights = board.getCastlingRights();
+        if (castlingRights == 0)
+        {
+            fen.append('-');
+        }
+        else
+        {
+            if ((castlingRights & Zobrist.WHITE_KING_SIDE) != 0) fen.append('K');
+            if ((castlingRights & Zobrist.WHITE_QUEEN_SIDE) != 0) fen.append('Q');
+            if ((castlingRights & Zobrist.BLACK_KING_SIDE) != 0) fen.append('k');
+            if ((castlingRights & Zobrist.BLACK_QUEEN_SIDE) != 0) fen.append('q');
+        }
+
+        final Pawn enPassantPawn = board.getEnPassantPawn();
+        if (enPassantPawn == null)
+        {
+            fen.append(" -");
+        }
+        else //The tile the pawn jumped over
+        {
+            fen.append(' ').append(BoardUtils.getPositionAtCoordinate(enPassantPawn.getPiecePosition() - enPassantPawn.getPieceColor().getColor() * NUM_TILES_PER_ROW));
+        }
+
+        return fen.append(" 0 1").toString();
+    }
+
+    private static Piece createPiece(final char c, final int tile, final String fen) //isFirstMove is set later, see withCastlingRights
+    {
+        final Color color = Character.isUpperCase(c) ? Color.WHITE : Color.BLACK;
+
+        switch (Character.toUpperCase(c))
+        {
+            case 'P': return new Pawn(tile, color, color.isWhite() ? BoardUtils.SECOND_ROW[tile] : BoardUtils.SEVENTH_ROW[tile]);
+            case 'N': return new Knight(tile, color, false);
+            case 'B': return new Bishop(tile, color, false);
+            case 'R': return new Rook(tile, color, false);
+            case 'Q': return new Queen(tile, color, false);
+            case 'K': return new King(tile, color, false);
+            default: throw new RuntimeException("Unknown piece " + c + " in FEN: " + fen);
+        }
+    }
+
+    private static Piece withCastlingRights(final Piece piece, final int castlingRights) //Kings and rooks that can still castle haven't moved
+    {
+        final int tile = piece.getPiecePosition();
+        final boolean white = piece.getPieceColor().isWhite();
+
+        if (piece.getPieceType() == Piece.PieceType.KING && tile == (white ? 60 : 4))
+        {
+            final int sideRights = white ? Zobrist.WHITE_KING_SIDE | Zobrist.WHITE_QUEEN_SIDE : Zobrist.BLACK_KING_SIDE | Zobrist.BLACK_QUEEN_SIDE;
+            return (castlingRights & sideRights) != 0 ? new King(tile, piece.getPieceColor(), true) : piece;
+        }
+
+        if (piece.getPieceType() == Piece.PieceType.ROOK)
+        {
+            final int right = tile == 63 && white ? Zobrist.WHITE_KING_SIDE
+                            : tile == 56 && white ? Zobrist.WHITE_QUEEN_SIDE
+                            : tile == 7 && !white ? Zobrist.BLACK_KING_SIDE
+                            : tile == 0 && !white ? Zobrist.BLACK_QUEEN_SIDE
+                            : 0;
+            return (castlingRights & right) != 0 ? new Rook(tile, piece.getPieceColor(), true) : piece;
+        }
+
+        return piece;
+    }
+
+    private static char charAt(final String fen, final int index) //Treats the end of the string as a space, so the fields after the castling rights are optional
+    {
+        return index < fen.length() ? fen.charAt(index) : ' ';
+    }
+
+    private static void expect(final String fen, final int index, final char expected)
+    {
+        if (charAt(fen, index) != expected)
+        {
+            throw new RuntimeException("Expected '" + expected + "' at " + index + " in FEN: " + fen);
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package chess.engine.board;
+
+import chess.engine.Color;
+import chess.engine.pieces.Pawn;
+
+import static chess.engine.board.BoardUtils.NUM_TILES_PER_ROW;
+
+//Answers whether a side has any legal move at all, for checkmate and stalemate, without making a single move or
+//building a Board. First the king's own escape tiles, then, unless two pieces give check, whether any other piece can
+//reach a tile that is allowed: anywhere not its own side's when not in check, otherwise the checking piece or a tile
+//between it and the king. A pinned piece may only move along the line between its king and the pinning piece.
+//En passant is the one move checked by playing it out on the bitboards, since it can uncover a check along the row
+
+public final class LegalMoveDetector
+{
+    private static final int PAWN = 0; //Offsets of each piece type's mask, same order as PieceType
+    private static final int BISHOP = 2;
+    private static final int QUEEN = 3;
+    private static final int ROOK = 4;
+    private static final int KING = 5;
+
+    private LegalMoveDetector()
+    {
+        throw new RuntimeException("Not instantiable!");
+    }
+
+    public static boolean hasLegalMove(final Board board, final Color color) //As if color were to move, en passant only counts for the side that is
+    {
+        final BitBoard bitBoard = board.getBitBoard();
+        final long[] pieceBoards = bitBoard.getPieceBoards();
+        final boolean white = color.isWhite();
+        final int us = white ? 0 : BitBoard.NUM_PIECE_TYPES;
+        final long own = bitBoard.getOccupancy(color);
+        final long enemy = bitBoard.getOccupancy() & ~own;
+        final long occupancy = bitBoard.getOccupancy();
+        final int kingTile = Long.numberOfTrailingZeros(pieceBoards[us + KING]);
+
+        final long withoutKing = occupancy & ~(1L << kingTile); //So a slider checking the king also covers the tiles behind it
+        for (long escapes = Attacks.KING_ATTACKS[kingTile] & ~own; escapes != 0; escapes &= escapes - 1)
+        {
+            if (!Attacks.isSquareAttacked(pieceBoards, withoutKing, Long.numberOfTrailingZeros(escapes), !white))
+            {
+                return true;
+            }
+        }
+
+        final long checkers = Attacks.attackersTo(pieceBoards, occupancy, kingTile) & enemy;
+        if (Long.bitCount(checkers) > 1) //Only the king can answer a double check
+        {
+            return false;
+        }
+        final long allowed = checkers == 0 ? ~own : checkers | between(kingTile, Long.numberOfTrailingZeros(checkers));
+
+        for (int type = PAWN; type < KING; type++)
+        {
+            for (long pieces = pieceBoards[us + type]; pieces != 0; pieces &= pieces - 1)
+            {
+                final int tile = Long.numberOfTrailingZeros(pieces);
+                final long targets = type == PAWN ? pawnTargets(tile, white, occupancy, enemy) : Attacks.attacksFrom(type, tile, white, occupancy) & ~own;
+
+                if ((targets & allowed & pinLine(pieceBoards, occupancy, kingTile, tile, white)) != 0)
+                {
+                    return true;
+                }
+            }
+        }
+
+        return board.currentPlayer().getColor() == color && hasEnPassant(board, pieceBoards, occupancy, kingTile, white);
+    }
+
+    private static long pawnTargets(final int tile, final boolean white, final long occupancy, final long enemy) //Pushes and captures, en passant aside
+    {
+        final long captures = (white ? Attacks.WHITE_PAWN_ATTACKS[tile] : Attacks.BLACK_PAWN_ATTACKS[tile]) & enemy;
+        final int step = white ? -NUM_TILES_PER_ROW : NUM_TILES_PER_ROW;
+        final int oneStep = tile + step;
+
+        if (!BoardUtils.isValidCoordinate(oneStep) || (occupancy & (1L << oneStep)) != 0)
+        {
+            return captures;
+        }
+
+        long pushes = 1L << oneStep;
+        final boolean onStartingRow = white ? BoardUtils.SECOND_ROW[tile] : BoardUtils.SEVENTH_ROW[tile];
+        if (onStartingRow && (occupancy & (1L << (oneStep + step))) == 0)
+        {
+            pushes |= 1L << (oneStep + step);
+        }
+
+        return captures | pushes;
+    }
+
+    private static long pinLine(final long[] pieceBoards, final long occupancy, final int kingTile, final int tile, final boolean white) //Every tile, unless the piece is pinned
+    {
+        final int them = white ? BitBoard.NUM_PIECE_TYPES : 0;
+        final long diagonalSliders = pieceBoards[them + BISHOP] | pieceBoards[them + QUEEN];
+        final long straightSliders = pieceBoards[them + ROOK] | pieceBoards[them + QUEEN];
+
+        final long diagonalPin = pinLine(Attacks.BISHOP_RAYS, Attacks.BISHOP_DIRECTIONS, diagonalSliders, occupancy, kingTile, tile);
+        if (diagonalPin != 0)
+        {
+            return diagonalPin;
+        }
+
+        final long straightPin = pinLine(Attacks.ROOK_RAYS, Attacks.ROOK_DIRECTIONS, straightSliders, occupancy, kingTile, tile);
+        return straightPin != 0 ? straightPin : ~0L;
+    }
+
+    private static long pinLine(final long[][] rays, final int[][] directions, final long sliders, final long occupancy, final int kingTile, final int tile) //0 if the tile isn't on any of these lines from the king
+    {
+        for (int i = 0; i < directions.length; i++)
+        {
+            final long ray = rays[i][kingTile];
+            if ((ray & (1L << tile)) == 0)
+            {
+                continue;
+            }
+
+            if (nearest(ray & occupancy, directions[i]) != tile) //Something stands between it and the king
+            {
+                return ~0L;
+            }
+
+            final long beyond = rays[i][tile] & occupancy;
+            if (beyond != 0 && (sliders & (1L << nearest(beyond, directions[i]))) != 0)
+            {
+                return ray & ~rays[i][nearest(beyond, directions[i])]; //Up to and including the pinning piece
+            }
+            return ~0L;
+        }
+
+        return 0L;
+    }
+
+    private static long between(final int kingTile, final int checker) //Tiles strictly between, empty unless they share a row, column or diagonal
+    {
+        final long checkerMask = 1L << checker;
+        final long[][][] allRays = {Attacks.BISHOP_RAYS, Attacks.ROOK_RAYS};
+
+        for (final long[][] rays : allRays)
+        {
+            for (final long[] ray : rays)
+            {
+                if ((ray[kingTile] & checkerMask) != 0)
+                {
+                    return ray[kingTile] & ~ray[checker] & ~checkerMask;
+                }
+            }
+        }
+
+        return 0L;
+    }
+
+    private static boolean hasEnPassant(final Board board, final long[] pieceBoards, final long occupancy, final int kingTile, final boolean white) //Played out on a copy of the bitboards
+    {
+        final Pawn enPassantPawn = board.getEnPassantPawn();
+        if (enPassantPawn == null)
+        {
+            return false;
+        }
+
+        final int captured = enPassantPawn.getPiecePosition();
+        final int target = captured - (enPassantPawn.getPieceColor().getColor() * NUM_TILES_PER_ROW);
+        final int us = white ? 0 : BitBoard.NUM_PIECE_TYPES;
+        final int them = white ? BitBoard.NUM_PIECE_TYPES : 0;
+
+        //Our pawns that attack the target tile stand where an enemy pawn on it would attack
+        for (long pawns = (white ? Attacks.BLACK_PAWN_ATTACKS[target] : Attacks.WHITE_PAWN_ATTACKS[target]) & pieceBoards[us + PAWN]; pawns != 0; pawns &= pawns - 1)
+        {
+            final long from = pawns & -pawns;
+            final long[] after = pieceBoards.clone();
+            after[us + PAWN] = (after[us + PAWN] & ~from) | (1L << target);
+            after[them + PAWN] &= ~(1L << captured);
+
+            if (!Attacks.isSquareAttacked(after, (occupancy & ~from & ~(1L << captured)) | (1L << target), kingTile, !white))
+            {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static int nearest(final long pieces, final int[] direction) //First of the pieces along a ray going in direction
+    {
+        return Attacks.isTowardsHigherTiles(direction) ? Long.numberOfTrailingZeros(pieces) : 63 - Long.numberOfLeadingZeros(pieces);
+    }
+}
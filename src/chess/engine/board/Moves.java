@@ -113,10 +113,19 @@ public abstract class Moves
         builder.setPiece(this.movedPiece.movePiece(this)); //Move the moved piece
 
         builder.setMoveMaker(this.board.currentPlayer().getOpponent().getColor()); //Set MoveMaker to the opponent for their turn
+        builder.setZobristKey(calculateZobristKey(builder));
 
         return builder.build();
     }
 
+    protected long calculateZobristKey(final Board.Builder builder) //Updates the previous board's key for the start and destination tiles only
+    {
+        return this.board.getZobristKey() ^
+               Zobrist.tileDelta(this.board, builder, getCurrentCoordinate()) ^
+               Zobrist.tileDelta(this.board, builder, this.destination) ^
+               Zobrist.stateDelta(this.board, builder);
+    }
+
     public static class MajorAttackMove extends AttackMove
     {
         public MajorAttackMove(final Board board, final Piece pieceMoved, final int destination, final Piece attackedPiece)
@@ -279,6 +288,7 @@ public abstract class Moves
 
             builder.setPiece(this.movedPiece.movePiece(this));
             builder.setMoveMaker(this.board.currentPlayer().getOpponent().getColor());
+            builder.setZobristKey(calculateZobristKey(builder) ^ Zobrist.tileDelta(this.board, builder, this.getAttackedPiece().getPiecePosition())); //The captured pawn isn't on the destination tile
 
             return builder.build();
         }
@@ -328,9 +338,11 @@ public abstract class Moves
             {
                 builder.setPiece(piece);
             }
-            builder.setPiece(this.promotedPawn.getPromotionPiece().movePiece(this));
-            builder.setPiece(this.promotionPiece.movePiece(this));
+            builder.setPiece(this.promotionPiece.movePiece(this)); //Replaces the pawn on the destination tile
             builder.setMoveMaker(pawnMovedBoard.currentPlayer().getColor());
+            builder.setZobristKey(pawnMovedBoard.getZobristKey() ^
+                                  Zobrist.tileDelta(pawnMovedBoard, builder, this.destination) ^
+                                  Zobrist.stateDelta(pawnMovedBoard, builder)); //Only the piece on the destination tile changes from the pawn move's board
 
             return builder.build();
         }
@@ -383,6 +395,7 @@ public abstract class Moves
             builder.setPiece(movedPawn);
             builder.setEnPassantPawn(movedPawn);
             builder.setMoveMaker(this.board.currentPlayer().getOpponent().getColor());
+            builder.setZobristKey(calculateZobristKey(builder));
 
             return builder.build();
         }
@@ -437,8 +450,11 @@ public abstract class Moves
             }
 
             builder.setPiece(this.movedPiece.movePiece(this));
-            builder.setPiece(new Rook(this.castleRookDestination, this.castleRook.getPieceColor()));
+            builder.setPiece(new Rook(this.castleRookDestination, this.castleRook.getPieceColor(), false));
             builder.setMoveMaker(this.board.currentPlayer().getOpponent().getColor());
+            builder.setZobristKey(calculateZobristKey(builder) ^
+                                  Zobrist.tileDelta(this.board, builder, this.castleRookStart) ^
+                                  Zobrist.tileDelta(this.board, builder, this.castleRookDestination));
 
             return builder.build();
         }
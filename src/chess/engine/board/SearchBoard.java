@@ -0,0 +1,638 @@
+package chess.engine.board;
+
+import chess.engine.Color;
+import chess.engine.pieces.*;
+
+import java.util.Arrays;
+
+import static chess.engine.board.Attacks.*;
+import static chess.engine.board.BoardUtils.NUM_TILES;
+import static chess.engine.board.BoardUtils.NUM_TILES_PER_ROW;
+import static chess.engine.board.CompactMove.*;
+import static chess.engine.board.Zobrist.*;
+
+//A mutable copy of a Board for the AI to search on. Moves are made and unmade in place, only touching the tiles involved,
+//and everything a move changes is pushed onto a small undo stack so unmakeMove can put it back.
+//Moves are CompactMove ints, pawns are always promoted to a queen, same as Pawn.getPromotionPiece()
+//The material and piece-square score and the pawns' own key are kept up to date the same way as the Zobrist key
+
+public final class SearchBoard
+{
+    public static final int MAX_MOVES = 256; //More than any legal position can have
+
+    private static final int MAX_PLY = 512;
+    private static final int EMPTY = -1;
+    private static final int WHITE = 0;
+    private static final int BLACK = 1;
+
+    private static final int PAWN = Piece.PieceType.PAWN.ordinal();
+    private static final int KNIGHT = Piece.PieceType.KNIGHT.ordinal();
+    private static final int BISHOP = Piece.PieceType.BISHOP.ordinal();
+    private static final int QUEEN = Piece.PieceType.QUEEN.ordinal();
+    private static final int ROOK = Piece.PieceType.ROOK.ordinal();
+    private static final int KING = Piece.PieceType.KING.ordinal();
+    private static final Piece.PieceType[] PIECE_TYPES = Piece.PieceType.values();
+
+    private static final int CAPTURES = 1; //Kinds of move for generateMoves to produce
+    private static final int QUIET_MOVES = 2;
+
+    private static final int[] CASTLING_MASK = initCastlingMask(); //Rights that survive a move touching each tile
+
+
+    private final int[] squares; //Piece code (BitBoard.index) on each tile, or EMPTY
+    private final long[] pieceBoards;
+    private final long[] colorOccupancy;
+    private int sideToMove;
+    private int castlingRights;
+    private int enPassantTile; //Tile a pawn can capture onto en passant, or -1
+    private long zobristKey; //Kept equal to the key of the Board toBoard() would build
+    private long pawnKey; //Zobrist.pawnKey of the pawns on the board
+    private int middleGameScore; //PieceSquareTables sums, white minus black
+    private int endGameScore;
+    private int phase;
+
+    private final int[] undoMoves;
+    private final int[] undoCaptured;
+    private final int[] undoCastlingRights;
+    private final int[] undoEnPassantTile;
+    private final long[] undoZobristKey;
+    private int ply;
+
+    private final int[] scratchMoves; //Only used by hasLegalMoves and isPseudoLegal
+    private final int[] exchangeGains; //Only used by staticExchange
+
+    public SearchBoard(final Board board)
+    {
+        this.squares = new int[NUM_TILES];
+        this.pieceBoards = new long[2 * BitBoard.NUM_PIECE_TYPES];
+        this.colorOccupancy = new long[2];
+        this.undoMoves = new int[MAX_PLY];
+        this.undoCaptured = new int[MAX_PLY];
+        this.undoCastlingRights = new int[MAX_PLY];
+        this.undoEnPassantTile = new int[MAX_PLY];
+        this.undoZobristKey = new long[MAX_PLY];
+        this.scratchMoves = new int[MAX_MOVES];
+        this.exchangeGains = new int[StaticExchange.MAX_EXCHANGES];
+
+        for (int i = 0; i < NUM_TILES; i++)
+        {
+            final Piece piece = board.getPiece(i);
+            if (piece == null)
+            {
+                this.squares[i] = EMPTY;
+            }
+            else
+            {
+                putPiece(BitBoard.index(piece.getPieceType(), piece.getPieceColor()), i);
+            }
+        }
+
+        this.sideToMove = board.currentPlayer().getColor().isWhite() ? WHITE : BLACK;
+        this.castlingRights = board.getCastlingRights();
+
+        final Pawn enPassantPawn = board.getEnPassantPawn();
+        this.enPassantTile = enPassantPawn == null ? -1 : enPassantPawn.getPiecePosition() - (enPassantPawn.getPieceColor().getColor() * NUM_TILES_PER_ROW);
+        this.zobristKey = board.getZobristKey();
+    }
+
+    public long getZobristKey()
+    {
+        return this.zobristKey;
+    }
+
+    public long getPawnKey()
+    {
+        return this.pawnKey;
+    }
+
+    public long getPieces(final Piece.PieceType pieceType, final Color color) //Same as BitBoard.getPieces
+    {
+        return this.pieceBoards[BitBoard.index(pieceType, color)];
+    }
+
+    public int getPieceSquareScore() //Same as PieceSquareTables.score(toBoard()), without building the Board
+    {
+        return PieceSquareTables.taper(this.middleGameScore, this.endGameScore, this.phase);
+    }
+
+    public Color getMoveMaker()
+    {
+        return this.sideToMove == WHITE ? Color.WHITE : Color.BLACK;
+    }
+
+    public int generateMoves(final int[] moves) //Fills the buffer with pseudo-legal moves, makeMove weeds out the ones that leave the king in check
+    {
+        return generateMoves(moves, CAPTURES | QUIET_MOVES);
+    }
+
+    public int generateCaptures(final int[] moves) //Only the moves that change the material: captures, en passant and promotions
+    {
+        return generateMoves(moves, CAPTURES);
+    }
+
+    public int generateQuietMoves(final int[] moves) //Everything generateCaptures leaves out, castles included
+    {
+        return generateMoves(moves, QUIET_MOVES);
+    }
+
+    public boolean isPseudoLegal(final int move) //Whether generateMoves would produce this move here, e.g. for a killer move found in another position
+    {
+        final int from = getCurrentCoordinate(move);
+        if (move == NO_MOVE || (this.colorOccupancy[this.sideToMove] & (1L << from)) == 0)
+        {
+            return false;
+        }
+
+        int count = generatePieceMoves(this.scratchMoves, 0, from, CAPTURES | QUIET_MOVES);
+        if (this.squares[from] % BitBoard.NUM_PIECE_TYPES == KING)
+        {
+            count = generateCastles(this.scratchMoves, count);
+        }
+
+        for (int i = 0; i < count; i++)
+        {
+            if (this.scratchMoves[i] == move)
+            {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    public Piece.PieceType getPieceType(final int tile) //Null if the tile is empty
+    {
+        final int code = this.squares[tile];
+        return code == EMPTY ? null : PIECE_TYPES[code % BitBoard.NUM_PIECE_TYPES];
+    }
+
+    private int generateMoves(final int[] moves, final int kinds)
+    {
+        int count = 0;
+
+        for (long pieces = this.colorOccupancy[this.sideToMove]; pieces != 0; pieces &= pieces - 1)
+        {
+            count = generatePieceMoves(moves, count, Long.numberOfTrailingZeros(pieces), kinds);
+        }
+
+        return (kinds & QUIET_MOVES) != 0 ? generateCastles(moves, count) : count;
+    }
+
+    private int generatePieceMoves(final int[] moves, int count, final int from, final int kinds)
+    {
+        final int us = this.sideToMove;
+        final long own = this.colorOccupancy[us];
+        final long enemy = this.colorOccupancy[us ^ 1];
+        final int type = this.squares[from] % BitBoard.NUM_PIECE_TYPES;
+
+        if (type == PAWN)
+        {
+            return generatePawnMoves(moves, count, from, enemy, kinds);
+        }
+
+        if (type == KNIGHT || type == KING)
+        {
+            final long targets = (type == KNIGHT ? KNIGHT_ATTACKS[from] : KING_ATTACKS[from]) & ~own;
+            for (long bits = targets & kindMask(kinds, enemy, own); bits != 0; bits &= bits - 1)
+            {
+                final int to = Long.numberOfTrailingZeros(bits);
+                moves[count++] = create(from, to, (enemy & (1L << to)) != 0 ? ATTACK : QUIET);
+            }
+            return count;
+        }
+
+        if (type != ROOK)
+        {
+            count = generateSlidingMoves(moves, count, from, BISHOP_DIRECTIONS, own, enemy, kinds);
+        }
+        if (type != BISHOP)
+        {
+            count = generateSlidingMoves(moves, count, from, ROOK_DIRECTIONS, own, enemy, kinds);
+        }
+
+        return count;
+    }
+
+    private static long kindMask(final int kinds, final long enemy, final long own) //Tiles a non-pawn may move to for the kinds asked for
+    {
+        return ((kinds & CAPTURES) != 0 ? enemy : 0) | ((kinds & QUIET_MOVES) != 0 ? ~(enemy | own) : 0);
+    }
+
+    private int generatePawnMoves(final int[] moves, int count, final int from, final long enemy, final int kinds)
+    {
+        final int forward = this.sideToMove == WHITE ? -NUM_TILES_PER_ROW : NUM_TILES_PER_ROW;
+        final int row = from / NUM_TILES_PER_ROW;
+        final int column = from % NUM_TILES_PER_ROW;
+        final int oneStep = from + forward;
+        final boolean promotes = this.sideToMove == WHITE ? row == 1 : row == 6;
+
+        if (!BoardUtils.isValidCoordinate(oneStep)) //Only a pawn a Board.Builder left on the last row
+        {
+            return count;
+        }
+
+        if (this.squares[oneStep] == EMPTY)
+        {
+            if ((kinds & (promotes ? CAPTURES : QUIET_MOVES)) != 0)
+            {
+                moves[count++] = create(from, oneStep, promotes ? PROMOTION + QUEEN_PROMOTION : QUIET);
+            }
+
+            final boolean onStartRow = this.sideToMove == WHITE ? row == 6 : row == 1;
+            if ((kinds & QUIET_MOVES) != 0 && onStartRow && this.squares[oneStep + forward] == EMPTY)
+            {
+                moves[count++] = create(from, oneStep + forward, PAWN_JUMP);
+            }
+        }
+
+        if ((kinds & CAPTURES) == 0)
+        {
+            return count;
+        }
+
+        for (int side = -1; side <= 1; side += 2) //Diagonal attacks on either side
+        {
+            if (column + side < 0 || column + side >= NUM_TILES_PER_ROW)
+            {
+                continue;
+            }
+
+            final int to = oneStep + side;
+            if ((enemy & (1L << to)) != 0)
+            {
+                moves[count++] = create(from, to, promotes ? PROMOTION_ATTACK + QUEEN_PROMOTION : ATTACK);
+            }
+            else if (to == this.enPassantTile)
+            {
+                moves[count++] = create(from, to, EN_PASSANT);
+            }
+        }
+
+        return count;
+    }
+
+    private int generateSlidingMoves(final int[] moves, int count, final int from, final int[][] directions, final long own, final long enemy, final int kinds)
+    {
+        final boolean captures = (kinds & CAPTURES) != 0;
+        final boolean quietMoves = (kinds & QUIET_MOVES) != 0;
+
+        for (final int[] direction : directions)
+        {
+            int row = from / NUM_TILES_PER_ROW + direction[0];
+            int column = from % NUM_TILES_PER_ROW + direction[1];
+
+            while (row >= 0 && row < NUM_TILES_PER_ROW && column >= 0 && column < NUM_TILES_PER_ROW)
+            {
+                final int to = row * NUM_TILES_PER_ROW + column;
+                final long toMask = 1L << to;
+
+                if ((own & toMask) != 0)
+                {
+                    break;
+                }
+                if ((enemy & toMask) != 0)
+                {
+                    if (captures)
+                    {
+                        moves[count++] = create(from, to, ATTACK);
+                    }
+                    break;
+                }
+
+                if (quietMoves)
+                {
+                    moves[count++] = create(from, to, QUIET);
+                }
+                row += direction[0];
+                column += direction[1];
+            }
+        }
+
+        return count;
+    }
+
+    private int generateCastles(final int[] moves, int count) //Same rules as WhitePlayer/BlackPlayer.calculateKingCastles
+    {
+        final int us = this.sideToMove;
+        final int kingSideRight = us == WHITE ? WHITE_KING_SIDE : BLACK_KING_SIDE;
+        final int queenSideRight = us == WHITE ? WHITE_QUEEN_SIDE : BLACK_QUEEN_SIDE;
+
+        if ((this.castlingRights & (kingSideRight | queenSideRight)) == 0)
+        {
+            return count;
+        }
+
+        final int kingTile = us == WHITE ? 60 : 4;
+        if (isSquareAttacked(kingTile, us ^ 1))
+        {
+            return count;
+        }
+
+        if ((this.castlingRights & kingSideRight) != 0 &&
+            this.squares[kingTile + 1] == EMPTY && this.squares[kingTile + 2] == EMPTY &&
+            !isSquareAttacked(kingTile + 1, us ^ 1) && !isSquareAttacked(kingTile + 2, us ^ 1))
+        {
+            moves[count++] = create(kingTile, kingTile + 2, KING_SIDE_CASTLE);
+        }
+
+        if ((this.castlingRights & queenSideRight) != 0 &&
+            this.squares[kingTile - 1] == EMPTY && this.squares[kingTile - 2] == EMPTY && this.squares[kingTile - 3] == EMPTY &&
+            !isSquareAttacked(kingTile - 1, us ^ 1) && !isSquareAttacked(kingTile - 2, us ^ 1))
+        {
+            moves[count++] = create(kingTile, kingTile - 2, QUEEN_SIDE_CASTLE);
+        }
+
+        return count;
+    }
+
+    public boolean makeMove(final int move) //Returns false, with the board left untouched, if the move would leave the mover's king in check
+    {
+        final int us = this.sideToMove;
+        final int from = getCurrentCoordinate(move);
+        final int to = getDestination(move);
+        final int flags = getFlags(move);
+        final int movedPiece = this.squares[from];
+
+        int capturedTile = to;
+        if (flags == EN_PASSANT)
+        {
+            capturedTile = to + (us == WHITE ? NUM_TILES_PER_ROW : -NUM_TILES_PER_ROW);
+        }
+        final int capturedPiece = this.squares[capturedTile];
+
+        this.undoMoves[this.ply] = move;
+        this.undoCaptured[this.ply] = capturedPiece;
+        this.undoCastlingRights[this.ply] = this.castlingRights;
+        this.undoEnPassantTile[this.ply] = this.enPassantTile;
+        this.undoZobristKey[this.ply] = this.zobristKey;
+        this.ply++;
+
+        if (capturedPiece != EMPTY)
+        {
+            removePiece(capturedTile);
+        }
+
+        removePiece(from);
+        putPiece(isPromotion(move) ? pieceCode(getPromotionType(move).ordinal(), us) : movedPiece, to);
+
+        if (flags == KING_SIDE_CASTLE)
+        {
+            removePiece(to + 1);
+            putPiece(pieceCode(ROOK, us), to - 1);
+        }
+        else if (flags == QUEEN_SIDE_CASTLE)
+        {
+            removePiece(to - 2);
+            putPiece(pieceCode(ROOK, us), to + 1);
+        }
+
+        this.zobristKey ^= castlingKey(this.castlingRights);
+        this.castlingRights &= CASTLING_MASK[from] & CASTLING_MASK[to];
+        this.zobristKey ^= castlingKey(this.castlingRights);
+
+        if (this.enPassantTile != -1)
+        {
+            this.zobristKey ^= enPassantKey(this.enPassantTile % NUM_TILES_PER_ROW);
+        }
+        this.enPassantTile = flags == PAWN_JUMP ? (from + to) / 2 : -1;
+        if (this.enPassantTile != -1)
+        {
+            this.zobristKey ^= enPassantKey(this.enPassantTile % NUM_TILES_PER_ROW);
+        }
+
+        this.sideToMove = us ^ 1;
+        this.zobristKey ^= sideKey(Color.BLACK);
+
+        if (isSquareAttacked(kingTile(us), us ^ 1))
+        {
+            unmakeMove();
+            return false;
+        }
+
+        return true;
+    }
+
+    public void unmakeMove() //Takes back the last move made
+    {
+        this.ply--;
+        final int move = this.undoMoves[this.ply];
+        final int capturedPiece = this.undoCaptured[this.ply];
+        this.castlingRights = this.undoCastlingRights[this.ply];
+        this.enPassantTile = this.undoEnPassantTile[this.ply];
+        this.sideToMove ^= 1;
+
+        final int us = this.sideToMove;
+        final int from = getCurrentCoordinate(move);
+        final int to = getDestination(move);
+        final int flags = getFlags(move);
+
+        final int movedPiece = isPromotion(move) ? pieceCode(PAWN, us) : this.squares[to];
+        removePiece(to);
+        putPiece(movedPiece, from);
+
+        if (flags == KING_SIDE_CASTLE)
+        {
+            removePiece(to - 1);
+            putPiece(pieceCode(ROOK, us), to + 1);
+        }
+        else if (flags == QUEEN_SIDE_CASTLE)
+        {
+            removePiece(to + 1);
+            putPiece(pieceCode(ROOK, us), to - 2);
+        }
+
+        if (capturedPiece != EMPTY)
+        {
+            putPiece(capturedPiece, flags == EN_PASSANT ? to + (us == WHITE ? NUM_TILES_PER_ROW : -NUM_TILES_PER_ROW) : to);
+        }
+
+        this.zobristKey = this.undoZobristKey[this.ply];
+    }
+
+    public void makeNullMove() //Passes the turn without moving, for null move pruning. Only legal when not in check
+    {
+        this.undoMoves[this.ply] = NO_MOVE;
+        this.undoCaptured[this.ply] = EMPTY;
+        this.undoCastlingRights[this.ply] = this.castlingRights;
+        this.undoEnPassantTile[this.ply] = this.enPassantTile;
+        this.undoZobristKey[this.ply] = this.zobristKey;
+        this.ply++;
+
+        if (this.enPassantTile != -1)
+        {
+            this.zobristKey ^= enPassantKey(this.enPassantTile % NUM_TILES_PER_ROW);
+            this.enPassantTile = -1;
+        }
+        this.sideToMove ^= 1;
+        this.zobristKey ^= sideKey(Color.BLACK);
+    }
+
+    public void unmakeNullMove()
+    {
+        this.ply--;
+        this.enPassantTile = this.undoEnPassantTile[this.ply];
+        this.zobristKey = this.undoZobristKey[this.ply];
+        this.sideToMove ^= 1;
+    }
+
+    public boolean isAfterNullMove()
+    {
+        return this.ply > 0 && this.undoMoves[this.ply - 1] == NO_MOVE;
+    }
+
+    public int getPly() //Moves made since this SearchBoard was created
+    {
+        return this.ply;
+    }
+
+    public boolean hasPiecesOtherThanPawns() //Besides the king, for the side to move. Without them zugzwang is common and passing the turn proves nothing
+    {
+        final int offset = this.sideToMove == WHITE ? 0 : BitBoard.NUM_PIECE_TYPES;
+        return (this.pieceBoards[offset + KNIGHT] | this.pieceBoards[offset + BISHOP] | this.pieceBoards[offset + ROOK] | this.pieceBoards[offset + QUEEN]) != 0;
+    }
+
+    public boolean isInCheck()
+    {
+        return isSquareAttacked(kingTile(this.sideToMove), this.sideToMove ^ 1);
+    }
+
+    public boolean hasLegalMoves() //Stops at the first move that doesn't leave the king in check
+    {
+        final int numMoves = generateMoves(this.scratchMoves);
+
+        for (int i = 0; i < numMoves; i++)
+        {
+            if (makeMove(this.scratchMoves[i]))
+            {
+                unmakeMove();
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    public Board toBoard() //Builds an immutable Board of the current position, for the evaluator and the GUI
+    {
+        final Board.Builder builder = new Board.Builder();
+        final int enPassantPawnTile = this.enPassantTile == -1 ? -1 : this.enPassantTile + (this.sideToMove == WHITE ? NUM_TILES_PER_ROW : -NUM_TILES_PER_ROW);
+
+        for (long pieces = this.colorOccupancy[WHITE] | this.colorOccupancy[BLACK]; pieces != 0; pieces &= pieces - 1)
+        {
+            final int tile = Long.numberOfTrailingZeros(pieces);
+            final int code = this.squares[tile];
+            final Piece piece = createPiece(code % BitBoard.NUM_PIECE_TYPES, tile, code < BitBoard.NUM_PIECE_TYPES ? Color.WHITE : Color.BLACK);
+            builder.setPiece(piece);
+
+            if (tile == enPassantPawnTile)
+            {
+                builder.setEnPassantPawn((Pawn) piece);
+            }
+        }
+
+        builder.setMoveMaker(getMoveMaker());
+
+        return builder.build();
+    }
+
+    private Piece createPiece(final int type, final int tile, final Color color) //isFirstMove is only kept where it still matters: castling and pawn jumps
+    {
+        final int colorRights = color.isWhite() ? this.castlingRights & (WHITE_KING_SIDE | WHITE_QUEEN_SIDE) : this.castlingRights & (BLACK_KING_SIDE | BLACK_QUEEN_SIDE);
+
+        if (type == PAWN)
+        {
+            return new Pawn(tile, color, color.isWhite() ? BoardUtils.SECOND_ROW[tile] : BoardUtils.SEVENTH_ROW[tile]);
+        }
+        if (type == KNIGHT)
+        {
+            return new Knight(tile, color, false);
+        }
+        if (type == BISHOP)
+        {
+            return new Bishop(tile, color, false);
+        }
+        if (type == QUEEN)
+        {
+            return new Queen(tile, color, false);
+        }
+        if (type == ROOK)
+        {
+            return new Rook(tile, color, (CASTLING_MASK[tile] & colorRights) != colorRights);
+        }
+
+        return new King(tile, color, colorRights != 0);
+    }
+
+    public int staticExchange(final int move) //What the move wins once every recapture on its destination is played out, see StaticExchange
+    {
+        final int from = getCurrentCoordinate(move);
+        final int to = getDestination(move);
+        final int victimTile = getFlags(move) == EN_PASSANT ? to + (this.sideToMove == WHITE ? NUM_TILES_PER_ROW : -NUM_TILES_PER_ROW) : to;
+        final int victim = this.squares[victimTile];
+
+        return StaticExchange.evaluate(this.pieceBoards, this.colorOccupancy[WHITE] | this.colorOccupancy[BLACK], from, to, victimTile,
+                                       this.squares[from] % BitBoard.NUM_PIECE_TYPES, victim == EMPTY ? -1 : victim % BitBoard.NUM_PIECE_TYPES,
+                                       this.sideToMove == WHITE, this.exchangeGains);
+    }
+
+    boolean isSquareAttacked(final int tile, final int attacker)
+    {
+        return Attacks.isSquareAttacked(this.pieceBoards, this.colorOccupancy[WHITE] | this.colorOccupancy[BLACK], tile, attacker == WHITE);
+    }
+
+    private int kingTile(final int side)
+    {
+        return Long.numberOfTrailingZeros(this.pieceBoards[pieceCode(KING, side)]);
+    }
+
+    private void putPiece(final int code, final int tile)
+    {
+        final long mask = 1L << tile;
+        this.squares[tile] = code;
+        this.pieceBoards[code] |= mask;
+        this.zobristKey ^= pieceKey(code, tile);
+        this.colorOccupancy[code < BitBoard.NUM_PIECE_TYPES ? WHITE : BLACK] |= mask;
+        if (code % BitBoard.NUM_PIECE_TYPES == PAWN)
+        {
+            this.pawnKey ^= pieceKey(code, tile);
+        }
+        this.middleGameScore += PieceSquareTables.middleGame(code, tile);
+        this.endGameScore += PieceSquareTables.endGame(code, tile);
+        this.phase += PieceSquareTables.phase(code);
+    }
+
+    private void removePiece(final int tile)
+    {
+        final long mask = ~(1L << tile);
+        final int code = this.squares[tile];
+        this.squares[tile] = EMPTY;
+        this.pieceBoards[code] &= mask;
+        this.zobristKey ^= pieceKey(code, tile);
+        this.colorOccupancy[code < BitBoard.NUM_PIECE_TYPES ? WHITE : BLACK] &= mask;
+        if (code % BitBoard.NUM_PIECE_TYPES == PAWN)
+        {
+            this.pawnKey ^= pieceKey(code, tile);
+        }
+        this.middleGameScore -= PieceSquareTables.middleGame(code, tile);
+        this.endGameScore -= PieceSquareTables.endGame(code, tile);
+        this.phase -= PieceSquareTables.phase(code);
+    }
+
+    private static int pieceCode(final int type, final int side)
+    {
+        return side == WHITE ? type : BitBoard.NUM_PIECE_TYPES + type;
+    }
+
+    private static int[] initCastlingMask()
+    {
+        final int[] mask = new int[NUM_TILES];
+        Arrays.fill(mask, WHITE_KING_SIDE | WHITE_QUEEN_SIDE | BLACK_KING_SIDE | BLACK_QUEEN_SIDE);
+        mask[60] &= ~(WHITE_KING_SIDE | WHITE_QUEEN_SIDE);
+        mask[63] &= ~WHITE_KING_SIDE;
+        mask[56] &= ~WHITE_QUEEN_SIDE;
+        mask[4] &= ~(BLACK_KING_SIDE | BLACK_QUEEN_SIDE);
+        mask[7] &= ~BLACK_KING_SIDE;
+        mask[0] &= ~BLACK_QUEEN_SIDE;
+        return mask;
+    }
+}
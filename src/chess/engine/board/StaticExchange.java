@@ -0,0 +1,97 @@
+package chess.engine.board;
+
+import chess.engine.Color;
+import chess.engine.pieces.Piece;
+
+//Static exchange evaluation: what a capture wins once both sides have made every recapture on its destination worth
+//making, each side always taking back with its least valuable piece. Attackers come from Attacks.attackersTo, and the
+//pieces used up are taken out of the occupancy, so sliders lined up behind them (x-rays) join in. No moves are generated.
+//Pins and checks are ignored, and a recapturing pawn is never promoted
+
+public final class StaticExchange
+{
+    private static final Piece.PieceType[] PIECE_TYPES = Piece.PieceType.values();
+    private static final Piece.PieceType[] CHEAPEST_FIRST = {Piece.PieceType.PAWN, Piece.PieceType.KNIGHT, Piece.PieceType.BISHOP,
+                                                             Piece.PieceType.ROOK, Piece.PieceType.QUEEN, Piece.PieceType.KING};
+    static final int MAX_EXCHANGES = 32; //One capture per piece on the board, the size of the gains buffer
+
+    private StaticExchange()
+    {
+        throw new RuntimeException("Not instantiable!");
+    }
+
+    public static int evaluate(final Board board, final Moves.AttackMove move) //Positive if the mover comes out ahead, in PieceType values
+    {
+        final Piece movedPiece = move.getMovedPiece();
+        final Piece attackedPiece = move.getAttackedPiece();
+        final BitBoard bitBoard = board.getBitBoard();
+
+        return evaluate(bitBoard.getPieceBoards(), bitBoard.getOccupancy(), move.getCurrentCoordinate(), move.getDestination(),
+                        attackedPiece.getPiecePosition(), movedPiece.getPieceType().ordinal(), attackedPiece.getPieceType().ordinal(),
+                        movedPiece.getPieceColor() == Color.WHITE, new int[MAX_EXCHANGES]);
+    }
+
+    static int evaluate(final long[] pieceBoards, long occupancy, final int from, final int to, final int victimTile,
+                        final int attackerType, final int victimType, final boolean whiteMoves, final int[] gain) //victimType -1 for a move onto an empty tile, gain is scratch the caller reuses
+    {
+        gain[0] = victimType == -1 ? 0 : PIECE_TYPES[victimType].getPieceValue();
+        occupancy &= ~(1L << victimTile); //Only differs from to for en passant
+
+        long attackerMask = 1L << from;
+        int pieceOnTile = attackerType; //Piece that the next capture takes
+        boolean white = whiteMoves;
+        int depth = 0;
+
+        while (attackerMask != 0 && depth < MAX_EXCHANGES - 1)
+        {
+            depth++;
+            gain[depth] = PIECE_TYPES[pieceOnTile].getPieceValue() - gain[depth - 1]; //If the piece just put on the tile is taken in turn
+            if (Math.max(-gain[depth - 1], gain[depth]) < 0) //Neither side can change the outcome by carrying on
+            {
+                break;
+            }
+
+            occupancy &= ~attackerMask;
+            white = !white;
+
+            final long attackers = Attacks.attackersTo(pieceBoards, occupancy, to);
+            final long ownAttackers = attackers & colorPieces(pieceBoards, white);
+            attackerMask = 0;
+
+            for (final Piece.PieceType type : CHEAPEST_FIRST)
+            {
+                final long pieces = ownAttackers & pieceBoards[(white ? 0 : BitBoard.NUM_PIECE_TYPES) + type.ordinal()];
+                if (pieces != 0)
+                {
+                    if (type == Piece.PieceType.KING && (attackers & ~ownAttackers) != 0) //Would be moving into check
+                    {
+                        break;
+                    }
+                    attackerMask = pieces & -pieces;
+                    pieceOnTile = type.ordinal();
+                    break;
+                }
+            }
+        }
+
+        while (--depth > 0) //Each side stops capturing once carrying on would lose it material
+        {
+            gain[depth - 1] = -Math.max(-gain[depth - 1], gain[depth]);
+        }
+
+        return gain[0];
+    }
+
+    private static long colorPieces(final long[] pieceBoards, final boolean white)
+    {
+        final int offset = white ? 0 : BitBoard.NUM_PIECE_TYPES;
+        long pieces = 0;
+
+        for (int i = offset; i < offset + BitBoard.NUM_PIECE_TYPES; i++)
+        {
+            pieces |= pieceBoards[i];
+        }
+
+        return pieces;
+    }
+}
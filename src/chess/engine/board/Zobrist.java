@@ -0,0 +1,152 @@
+package chess.engine.board;
+
+import chess.engine.Color;
+import chess.engine.pieces.Pawn;
+import chess.engine.pieces.Piece;
+
+import java.util.Random;
+
+import static chess.engine.board.BoardUtils.NUM_TILES;
+import static chess.engine.board.BoardUtils.NUM_TILES_PER_ROW;
+
+//Zobrist hashing: every piece on every tile, the side to move, each set of castling rights and each en passant column
+//gets a random 64-bit number, and a position's key is all of its numbers XORed together.
+//Moves update a key by XORing out what they remove and XORing in what they add, see Moves.execute()
+
+public final class Zobrist
+{
+    //Castling rights, one bit each
+    public static final int WHITE_KING_SIDE = 1;
+    public static final int WHITE_QUEEN_SIDE = 2;
+    public static final int BLACK_KING_SIDE = 4;
+    public static final int BLACK_QUEEN_SIDE = 8;
+
+    private static final long SEED = 0x4A617661436865L; //Fixed so keys are the same on every run
+    private static final long[][] PIECE_KEYS = new long[2 * BitBoard.NUM_PIECE_TYPES][NUM_TILES];
+    private static final long[] CASTLING_KEYS = new long[16];
+    private static final long[] EN_PASSANT_KEYS = new long[NUM_TILES_PER_ROW];
+    private static final long BLACK_TO_MOVE_KEY;
+
+    static
+    {
+        final Random random = new Random(SEED);
+
+        for (final long[] pieceKeys : PIECE_KEYS)
+        {
+            for (int i = 0; i < NUM_TILES; i++)
+            {
+                pieceKeys[i] = random.nextLong();
+            }
+        }
+
+        for (int i = 1; i < CASTLING_KEYS.length; i++) //No rights at all hashes to zero
+        {
+            CASTLING_KEYS[i] = random.nextLong();
+        }
+
+        for (int i = 0; i < EN_PASSANT_KEYS.length; i++)
+        {
+            EN_PASSANT_KEYS[i] = random.nextLong();
+        }
+
+        BLACK_TO_MOVE_KEY = random.nextLong();
+    }
+
+    private Zobrist()
+    {
+        throw new RuntimeException("Not instantiable!");
+    }
+
+    public static long pieceKey(final Piece piece) //Zero for an empty tile
+    {
+        return piece == null ? 0L : pieceKey(BitBoard.index(piece.getPieceType(), piece.getPieceColor()), piece.getPiecePosition());
+    }
+
+    public static long pieceKey(final int pieceIndex, final int tile)
+    {
+        return PIECE_KEYS[pieceIndex][tile];
+    }
+
+    public static long sideKey(final Color moveMaker)
+    {
+        return moveMaker.isBlack() ? BLACK_TO_MOVE_KEY : 0L;
+    }
+
+    public static long castlingKey(final int castlingRights)
+    {
+        return CASTLING_KEYS[castlingRights];
+    }
+
+    public static long enPassantKey(final Pawn enPassantPawn)
+    {
+        return enPassantPawn == null ? 0L : EN_PASSANT_KEYS[enPassantPawn.getPiecePosition() % NUM_TILES_PER_ROW];
+    }
+
+    public static long enPassantKey(final int column)
+    {
+        return EN_PASSANT_KEYS[column];
+    }
+
+    public static long pawnKey(final long whitePawns, final long blackPawns) //Key of the pawns alone, e.g. for caching pawn structure scores
+    {
+        long key = 0L;
+
+        for (long pawns = whitePawns; pawns != 0; pawns &= pawns - 1)
+        {
+            key ^= PIECE_KEYS[BitBoard.index(Piece.PieceType.PAWN, Color.WHITE)][Long.numberOfTrailingZeros(pawns)];
+        }
+        for (long pawns = blackPawns; pawns != 0; pawns &= pawns - 1)
+        {
+            key ^= PIECE_KEYS[BitBoard.index(Piece.PieceType.PAWN, Color.BLACK)][Long.numberOfTrailingZeros(pawns)];
+        }
+
+        return key;
+    }
+
+    static long calculateKey(final Piece[] boardConfig, final Color moveMaker, final Pawn enPassantPawn) //Full recalculation, only for boards built by hand
+    {
+        long key = sideKey(moveMaker) ^ castlingKey(calculateCastlingRights(boardConfig)) ^ enPassantKey(enPassantPawn);
+
+        for (final Piece piece : boardConfig)
+        {
+            key ^= pieceKey(piece);
+        }
+
+        return key;
+    }
+
+    static long tileDelta(final Board board, final Board.Builder builder, final int tile) //Change to the key from whatever a move did to one tile
+    {
+        return pieceKey(board.getPiece(tile)) ^ pieceKey(builder.boardConfig[tile]);
+    }
+
+    static long stateDelta(final Board board, final Board.Builder builder) //Change to the key from side to move, castling rights and en passant
+    {
+        return sideKey(board.currentPlayer().getColor()) ^ sideKey(builder.nextMoveMaker) ^
+               castlingKey(board.getCastlingRights()) ^ castlingKey(calculateCastlingRights(builder.boardConfig)) ^
+               enPassantKey(board.getEnPassantPawn()) ^ enPassantKey(builder.enPassantPawn);
+    }
+
+    static int calculateCastlingRights(final Piece[] boardConfig) //A side may castle while its king and that rook have not moved
+    {
+        int rights = 0;
+
+        if (isUnmoved(boardConfig[60], Piece.PieceType.KING, Color.WHITE))
+        {
+            rights |= isUnmoved(boardConfig[63], Piece.PieceType.ROOK, Color.WHITE) ? WHITE_KING_SIDE : 0;
+            rights |= isUnmoved(boardConfig[56], Piece.PieceType.ROOK, Color.WHITE) ? WHITE_QUEEN_SIDE : 0;
+        }
+        if (isUnmoved(boardConfig[4], Piece.PieceType.KING, Color.BLACK))
+        {
+            rights |= isUnmoved(boardConfig[7], Piece.PieceType.ROOK, Color.BLACK) ? BLACK_KING_SIDE : 0;
+            rights |= isUnmoved(boardConfig[0], Piece.PieceType.ROOK, Color.BLACK) ? BLACK_QUEEN_SIDE : 0;
+        }
+
+        return rights;
+    }
+
+    private static boolean isUnmoved(final Piece piece, final Piece.PieceType pieceType, final Color color)
+    {
+        return piece != null && piece.getPieceType() == pieceType && piece.getPieceColor() == color && piece.isFirstMove();
+    }
+}
@@ -0,0 +1,120 @@
+package chess.engine.perft;
+
+import chess.engine.board.Board;
+import chess.engine.board.Moves;
+import chess.engine.player.MoveTransition;
+
+import java.util.Random;
+
+//Perft that remembers the count under every position it finishes, keyed by the Board's Zobrist key mixed with the depth
+//left, so a position reached again through a different move order is only counted once. The table is a fixed size pair of
+//long arrays, a new count always replaces whatever was in its slot. Not thread safe, use one per thread
+
+public final class HashedPerft
+{
+    private static final int BYTES_PER_ENTRY = 2 * Long.BYTES;
+    private static final long[] DEPTH_KEYS = initDepthKeys(); //Without these a position's counts at different depths would share a key
+
+    private final long[] keys;
+    private final long[] counts;
+    private final int mask;
+    private long hits;
+    private long misses;
+
+    public HashedPerft(final int sizeInMegabytes)
+    {
+        final long maxEntries = Math.max(1L, (long) sizeInMegabytes * 1024 * 1024 / BYTES_PER_ENTRY);
+        final int numEntries = Integer.highestOneBit((int) Math.min(maxEntries, 1 << 30));
+
+        this.keys = new long[numEntries];
+        this.counts = new long[numEntries];
+        this.mask = numEntries - 1;
+    }
+
+    public long perft(final Board board, final int depth)
+    {
+        if (depth == 0)
+        {
+            return 1;
+        }
+
+        final long key = hashKey(board, depth);
+        final int index = (int) key & this.mask;
+
+        if (this.keys[index] == key)
+        {
+            this.hits++;
+            return this.counts[index];
+        }
+        this.misses++;
+
+        long nodes = 0;
+        for (final Moves move : board.currentPlayer().getLegalMoves())
+        {
+            final MoveTransition transition = board.currentPlayer().makeMove(move);
+            if (transition.getMoveStatus().isDone())
+            {
+                nodes += perft(transition.getToBoard(), depth - 1);
+            }
+        }
+
+        this.keys[index] = key;
+        this.counts[index] = nodes;
+
+        return nodes;
+    }
+
+    public long getHits()
+    {
+        return this.hits;
+    }
+
+    public long getMisses()
+    {
+        return this.misses;
+    }
+
+    private static long hashKey(final Board board, final int depth)
+    {
+        final long key = board.getZobristKey() ^ DEPTH_KEYS[depth];
+        return key == 0 ? 1 : key; //Zero marks an empty slot
+    }
+
+    private static long[] initDepthKeys()
+    {
+        final Random random = new Random(0x5065726674L); //Fixed, so runs are repeatable
+        final long[] depthKeys = new long[256];
+
+        for (int i = 0; i < depthKeys.length; i++)
+        {
+            depthKeys[i] = random.nextLong();
+        }
+
+        return depthKeys;
+    }
+
+    public static void main(final String[] args) //Depth, then table size in MB, compared with plain Perft
+    {
+        final int depth = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+        final int sizeInMegabytes = args.length > 1 ? Integer.parseInt(args[1]) : 64;
+
+        for (final PerftSuite.PerftPosition position : PerftSuite.POSITIONS)
+        {
+            final int positionDepth = Math.min(depth, position.getMaxDepth());
+
+            long startTime = System.nanoTime();
+            final long plainNodes = Perft.perft(position.getBoard(), positionDepth);
+            final long plainTime = System.nanoTime() - startTime;
+
+            final HashedPerft hashedPerft = new HashedPerft(sizeInMegabytes);
+            startTime = System.nanoTime();
+            final long hashedNodes = hashedPerft.perft(position.getBoard(), positionDepth);
+            final long hashedTime = System.nanoTime() - startTime;
+
+            System.out.println(String.format("%-16s depth %d: %10d nodes in %7d ms, hashed %10d nodes in %7d ms (%d hits, %d misses)%s",
+                                             position.getName(), positionDepth, plainNodes, plainTime / 1000000, hashedNodes,
+                                             hashedTime / 1000000, hashedPerft.getHits(), hashedPerft.getMisses(),
+                                             hashedNodes == position.getExpectedNodes(positionDepth) ? "" : " WRONG COUNT"));
+        }
+    }
+}
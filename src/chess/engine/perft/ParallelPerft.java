@@ -0,0 +1,112 @@
+package chess.engine.perft;
+
+import chess.engine.board.Board;
+import chess.engine.board.Moves;
+import chess.engine.player.MoveTransition;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+//Perft spread over a ForkJoinPool: the moves of the first splitPlies plies each become a task, the subtrees under them are
+//counted single threaded with Perft.perft. Boards are shared between threads, so a count that differs from Perft's also
+//means something in Board or the pieces isn't as immutable as it should be
+
+public final class ParallelPerft
+{
+    private final ForkJoinPool pool;
+    private final int splitPlies;
+
+    public ParallelPerft(final int parallelism, final int splitPlies) //splitPlies 1 splits the root moves, 2 their replies too
+    {
+        this.pool = new ForkJoinPool(parallelism);
+        this.splitPlies = splitPlies;
+    }
+
+    public long perft(final Board board, final int depth)
+    {
+        return this.pool.invoke(new PerftTask(board, depth, this.splitPlies));
+    }
+
+    public int getParallelism()
+    {
+        return this.pool.getParallelism();
+    }
+
+    public void shutdown()
+    {
+        this.pool.shutdown();
+    }
+
+    private static final class PerftTask extends RecursiveTask<Long>
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final Board board;
+        private final int depth;
+        private final int splitPlies;
+
+        PerftTask(final Board board, final int depth, final int splitPlies)
+        {
+            this.board = board;
+            this.depth = depth;
+            this.splitPlies = splitPlies;
+        }
+
+        @Override
+        protected Long compute()
+        {
+            if (this.splitPlies == 0 || this.depth <= 1) //Not worth a task of its own
+            {
+                return Perft.perft(this.board, this.depth);
+            }
+
+            final List<PerftTask> tasks = new ArrayList<>();
+            for (final Moves move : this.board.currentPlayer().getLegalMoves())
+            {
+                final MoveTransition transition = this.board.currentPlayer().makeMove(move);
+                if (transition.getMoveStatus().isDone())
+                {
+                    tasks.add(new PerftTask(transition.getToBoard(), this.depth - 1, this.splitPlies - 1));
+                }
+            }
+
+            long nodes = 0;
+            for (final PerftTask task : invokeAll(tasks))
+            {
+                nodes += task.join();
+            }
+
+            return nodes;
+        }
+    }
+
+    public static void main(final String[] args) //Depth, then thread count, then plies to split, compared with a single threaded count
+    {
+        final int depth = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+        final int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        final int splitPlies = args.length > 2 ? Integer.parseInt(args[2]) : 2;
+
+        for (final PerftSuite.PerftPosition position : PerftSuite.POSITIONS)
+        {
+            final int positionDepth = Math.min(depth, position.getMaxDepth());
+            Perft.perft(position.getBoard(), positionDepth - 1); //Warms up the JIT, so the first timed count isn't the slow one
+
+            long startTime = System.nanoTime();
+            final long serialNodes = Perft.perft(position.getBoard(), positionDepth);
+            final long serialTime = System.nanoTime() - startTime;
+
+            final ParallelPerft parallelPerft = new ParallelPerft(threads, splitPlies);
+            startTime = System.nanoTime();
+            final long parallelNodes = parallelPerft.perft(position.getBoard(), positionDepth);
+            final long parallelTime = System.nanoTime() - startTime;
+            parallelPerft.shutdown();
+
+            System.out.println(String.format("%-16s depth %d: %10d nodes in %7d ms, %d threads: %10d nodes in %7d ms, %.2fx speedup%s",
+                                             position.getName(), positionDepth, serialNodes, serialTime / 1000000, threads, parallelNodes,
+                                             parallelTime / 1000000, (double) serialTime / Math.max(1, parallelTime),
+                                             serialNodes == parallelNodes ? "" : " COUNTS DIFFER"));
+        }
+    }
+}
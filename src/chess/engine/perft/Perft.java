@@ -0,0 +1,90 @@
+package chess.engine.perft;
+
+import chess.engine.board.Board;
+import chess.engine.board.CompactMove;
+import chess.engine.board.Moves;
+import chess.engine.player.MoveTransition;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+//Perft counts the positions reachable from a board in exactly depth legal moves, through Player.makeMove like a game does.
+//The counts for well known positions are published (see PerftSuite), so any difference points at a move generation bug,
+//and divide splits the count by first move to narrow it down to one move
+
+public final class Perft
+{
+    private Perft()
+    {
+        throw new RuntimeException("Not instantiable!");
+    }
+
+    public static long perft(final Board board, final int depth)
+    {
+        if (depth == 0)
+        {
+            return 1;
+        }
+
+        long nodes = 0;
+
+        for (final Moves move : board.currentPlayer().getLegalMoves())
+        {
+            final MoveTransition transition = board.currentPlayer().makeMove(move);
+            if (transition.getMoveStatus().isDone())
+            {
+                nodes += perft(transition.getToBoard(), depth - 1);
+            }
+        }
+
+        return nodes;
+    }
+
+    public static Map<String, Long> divide(final Board board, final int depth) //Count under each legal first move, keyed by e.g. e2e4
+    {
+        final Map<String, Long> counts = new TreeMap<>();
+
+        for (final Moves move : board.currentPlayer().getLegalMoves())
+        {
+            final MoveTransition transition = board.currentPlayer().makeMove(move);
+            if (transition.getMoveStatus().isDone())
+            {
+                counts.put(CompactMove.toString(CompactMove.fromMove(move)), perft(transition.getToBoard(), depth - 1));
+            }
+        }
+
+        return counts;
+    }
+
+    public static long run(final Board board, final int depth) //Prints the divide counts, the total and the speed, returns the total
+    {
+        final long startTime = System.nanoTime();
+        final Map<String, Long> counts = divide(board, depth);
+        final long elapsed = System.nanoTime() - startTime;
+
+        long nodes = 0;
+        for (final Map.Entry<String, Long> entry : counts.entrySet())
+        {
+            System.out.println(entry.getKey() + ": " + entry.getValue());
+            nodes += entry.getValue();
+        }
+
+        System.out.println();
+        System.out.println("Moves: " + counts.size());
+        System.out.println("Nodes: " + nodes);
+        System.out.println("Time: " + elapsed / 1000000 + " ms (" + nodesPerSecond(nodes, elapsed) + " nodes/s)");
+
+        return nodes;
+    }
+
+    static long nodesPerSecond(final long nodes, final long nanoseconds)
+    {
+        return nanoseconds == 0 ? 0 : nodes * 1000000000L / nanoseconds;
+    }
+
+    public static void main(final String[] args) //Perft from the standard starting position, depth as the first argument
+    {
+        final int depth = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+        run(Board.createStandardBoard(), depth);
+    }
+}
@@ -0,0 +1,99 @@
+package chess.engine.perft;
+
+import chess.engine.board.Board;
+import chess.engine.board.FenUtilities;
+import com.google.common.collect.ImmutableList;
+
+import java.util.List;
+
+//Standard perft positions with their published counts, from https://www.chessprogramming.org/Perft_Results
+//Pawns here are only ever promoted to a queen, so each position stops before the first depth where a promotion is possible
+
+public final class PerftSuite
+{
+    public static final List<PerftPosition> POSITIONS = ImmutableList.of(
+            new PerftPosition("Start position", FenUtilities.STANDARD_BOARD_FEN,
+                              20L, 400L, 8902L, 197281L, 4865609L),
+            new PerftPosition("Kiwipete", "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq -",
+                              48L, 2039L, 97862L),
+            new PerftPosition("Position 3", "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - -",
+                              14L, 191L, 2812L, 43238L, 674624L),
+            new PerftPosition("Position 4", "r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1",
+                              6L),
+            new PerftPosition("Position 6", "r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10",
+                              46L, 2079L, 89890L));
+
+    private PerftSuite()
+    {
+        throw new RuntimeException("Not instantiable!");
+    }
+
+    public static boolean run(final int maxDepth) //Runs every position up to maxDepth, returns false if any count is wrong
+    {
+        boolean passed = true;
+
+        for (final PerftPosition position : POSITIONS)
+        {
+            for (int depth = 1; depth <= Math.min(maxDepth, position.getMaxDepth()); depth++)
+            {
+                final long startTime = System.nanoTime();
+                final long nodes = Perft.perft(position.getBoard(), depth);
+                final long elapsed = System.nanoTime() - startTime;
+                final boolean correct = nodes == position.getExpectedNodes(depth);
+
+                System.out.println(String.format("%-16s depth %d: %10d nodes, expected %10d %s %7d ms %10d nodes/s",
+                                                 position.getName(), depth, nodes, position.getExpectedNodes(depth),
+                                                 correct ? "OK    " : "FAILED", elapsed / 1000000, Perft.nodesPerSecond(nodes, elapsed)));
+                passed &= correct;
+            }
+        }
+
+        return passed;
+    }
+
+    public static void main(final String[] args) //Maximum depth as the first argument
+    {
+        final boolean passed = run(args.length > 0 ? Integer.parseInt(args[0]) : Integer.MAX_VALUE);
+        System.out.println(passed ? "All counts correct" : "Some counts are WRONG");
+    }
+
+    public static final class PerftPosition
+    {
+        private final String name;
+        private final Board board;
+        private final long[] expectedNodes; //Indexed by depth - 1
+
+        PerftPosition(final String name, final String fen, final long... expectedNodes)
+        {
+            this.name = name;
+            this.board = FenUtilities.createBoardFromFen(fen);
+            this.expectedNodes = expectedNodes;
+        }
+
+        public String getName()
+        {
+            return this.name;
+        }
+
+        public Board getBoard()
+        {
+            return this.board;
+        }
+
+        public int getMaxDepth() //Deepest depth with a known count
+        {
+            return this.expectedNodes.length;
+        }
+
+        public long getExpectedNodes(final int depth)
+        {
+            return this.expectedNodes[depth - 1];
+        }
+
+        @Override
+        public String toString()
+        {
+            return this.name;
+        }
+    }
+}
@@ -4,7 +4,6 @@ import chess.engine.Color;
 import chess.engine.board.Board;
 import chess.engine.board.BoardUtils;
 import chess.engine.board.Moves;
-import chess.engine.board.Tile;
 import com.google.common.collect.ImmutableList;
 
 import java.util.ArrayList;
@@ -37,17 +36,21 @@ public class King extends Piece
         {
             final int possibleCoordinate = this.position + currentOffset;
 
+            if (isFirstColumn(this.position, currentOffset) || isEighthColumn(this.position, currentOffset)) //Would wrap around to the other side of the board
+            {
+                continue;
+            }
+
             if (BoardUtils.isValidCoordinate(possibleCoordinate))
             {
-                final Tile possibleCoordinateTile = board.getTile(possibleCoordinate);
+                final Piece destinationPiece = board.getPiece(possibleCoordinate);
 
-                if (!possibleCoordinateTile.isFull())
+                if (destinationPiece == null)
                 {
                     legalMoves.add(new MajorMove(board, this, possibleCoordinate));
                 }
                 else
                 {
-                    final Piece destinationPiece = possibleCoordinateTile.getPiece();
                     final Color pieceColor = destinationPiece.getPieceColor();
                     if (this.getPieceColor() != pieceColor)
                     {
@@ -63,7 +66,7 @@ public class King extends Piece
     @Override
     public King movePiece(Moves move)
     {
-        return new King(move.getDestination(), move.getMovedPiece().getPieceColor());
+        return new King(move.getDestination(), move.getMovedPiece().getPieceColor(), false); //Moved, so no longer on its first move
     }
 
     @Override
@@ -74,7 +77,7 @@ public class King extends Piece
 
 
     //Exceptions: Moves the king can't make
-    private static boolean isFirstColumn(final int currentPosition, final int possibleMove) //If a knight is on the first column, there are some exceptions to the moves it can make
+    private static boolean isFirstColumn(final int currentPosition, final int possibleMove) //If a king is on the first column, there are some exceptions to the moves it can make
     {
         return FIRST_COLUMN[currentPosition] && ((possibleMove == -9) || (possibleMove == -1) || (possibleMove == 7));
     }
@@ -42,11 +42,11 @@ public class Pawn extends Piece
                 continue;
             }
 
-            if (currentOffset == 8 && !board.getTile(possibleCoordinate).isFull()) //Single move
+            if (currentOffset == 8 && board.getPiece(possibleCoordinate) == null) //Single move
             {
                 if (this.color.isPawnPromotionSquare(possibleCoordinate))
                 {
-                    legalMoves.add(new PawnPromotion(new PawnMove(board, this, possibleCoordinate), this));
+                    legalMoves.add(new PawnPromotion(new PawnMove(board, this, possibleCoordinate), getPromotionPiece()));
                 }
                 else
                 {
@@ -59,8 +59,8 @@ public class Pawn extends Piece
                       BoardUtils.SEVENTH_ROW[this.position] && this.getPieceColor().isBlack()))
             {
                 final int behindPossiblePosition = this.position + (this.getPieceColor().getColor() * 8);
-                if (!board.getTile(behindPossiblePosition).isFull() &&
-                    !board.getTile(possibleCoordinate).isFull())
+                if (board.getPiece(behindPossiblePosition) == null &&
+                    board.getPiece(possibleCoordinate) == null)
                 {
                     legalMoves.add(new PawnJump(board, this, possibleCoordinate));
                 }
@@ -69,14 +69,14 @@ public class Pawn extends Piece
                     !(BoardUtils.EIGHTH_COLUMN[this.position] && this.getPieceColor().isWhite() ||
                      BoardUtils.FIRST_COLUMN[this.position] && this.getPieceColor().isBlack()))
             {
-                if (board.getTile(possibleCoordinate).isFull())
+                final Piece targetPiece = board.getPiece(possibleCoordinate);
+                if (targetPiece != null)
                 {
-                    final Piece targetPiece = board.getTile(possibleCoordinate).getPiece();
                     if (this.getPieceColor() != targetPiece.getPieceColor()) //ATTACKING different color
                     {
                         if (this.color.isPawnPromotionSquare(possibleCoordinate))
                         {
-                           legalMoves.add(new PawnPromotion(new PawnAttackMove(board, this, possibleCoordinate, targetPiece), this));
+                           legalMoves.add(new PawnPromotion(new PawnAttackMove(board, this, possibleCoordinate, targetPiece), getPromotionPiece()));
                         }
                         else
                         {
@@ -100,14 +100,14 @@ public class Pawn extends Piece
                     !(BoardUtils.FIRST_COLUMN[this.position] && this.getPieceColor().isWhite() ||
                       BoardUtils.EIGHTH_COLUMN[this.position] && this.getPieceColor().isBlack()))
             {
-                if (board.getTile(possibleCoordinate).isFull())
+                final Piece targetPiece = board.getPiece(possibleCoordinate);
+                if (targetPiece != null)
                 {
-                    final Piece targetPiece = board.getTile(possibleCoordinate).getPiece();
                     if (this.getPieceColor() != targetPiece.getPieceColor()) //ATTACKING different color
                     {
                         if (this.color.isPawnPromotionSquare(possibleCoordinate))
                         {
-                            legalMoves.add(new PawnPromotion(new PawnAttackMove(board, this, possibleCoordinate, targetPiece), this));
+                            legalMoves.add(new PawnPromotion(new PawnAttackMove(board, this, possibleCoordinate, targetPiece), getPromotionPiece()));
                         }
                         else
                         {
@@ -135,7 +135,7 @@ public class Pawn extends Piece
     @Override
     public Pawn movePiece(Moves move)
     {
-        return new Pawn(move.getDestination(), move.getMovedPiece().getPieceColor());
+        return new Pawn(move.getDestination(), move.getMovedPiece().getPieceColor(), false); //Moved, so no longer on its first move
     }
 
     @Override
@@ -3,7 +3,6 @@ package chess.engine.pieces;
 import chess.engine.Color;
 import chess.engine.board.Board;
 import chess.engine.board.Moves;
-import chess.engine.board.Tile;
 import com.google.common.collect.ImmutableList;
 
 import java.util.ArrayList;
@@ -46,14 +45,13 @@ public class Queen extends Piece
                 possibleCoordinate += currentOffset;
                 if (isValidCoordinate(possibleCoordinate))
                 {
-                    final Tile currentTile = board.getTile(possibleCoordinate); //Tile corresponding to the new posssible position of the knight
+                    final Piece currentTilePiece = board.getPiece(possibleCoordinate); //Piece on the new posssible position of the knight, if any
 
-                    if (!currentTile.isFull()) //If tile is empty, knight can move to it
+                    if (currentTilePiece == null) //If tile is empty, knight can move to it
                     {
                         legalMoves.add(new Moves.MajorMove(board, this, possibleCoordinate));
                     } else //If tile is already occupied
                     {
-                        final Piece currentTilePiece = currentTile.getPiece();
                         final Color pieceColor = currentTilePiece.getPieceColor();
 
                         if (this.color != pieceColor) //If occupied tile has a piece of the opposite color, knight can move to it and claim the piece on it
@@ -72,7 +70,7 @@ public class Queen extends Piece
     @Override
     public Queen movePiece(Moves move) //Returns a new piece at the updated position (after a move)
     {
-        return new Queen(move.getDestination(), move.getMovedPiece().getPieceColor());
+        return new Queen(move.getDestination(), move.getMovedPiece().getPieceColor(), false); //Moved, so no longer on its first move
     }
 
     @Override
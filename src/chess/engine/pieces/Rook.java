@@ -4,7 +4,6 @@ import chess.engine.Color;
 import chess.engine.board.Board;
 import chess.engine.board.BoardUtils;
 import chess.engine.board.Moves;
-import chess.engine.board.Tile;
 import com.google.common.collect.ImmutableList;
 
 import java.util.ArrayList;
@@ -47,14 +46,13 @@ public class Rook extends Piece
                 possibleCoordinate += currentOffset;
                 if (isValidCoordinate(possibleCoordinate))
                 {
-                    final Tile currentTile = board.getTile(possibleCoordinate); //Tile corresponding to the new posssible position of the knight
+                    final Piece currentTilePiece = board.getPiece(possibleCoordinate); //Piece on the new posssible position of the knight, if any
 
-                    if (!currentTile.isFull()) //If tile is empty, knight can move to it
+                    if (currentTilePiece == null) //If tile is empty, knight can move to it
                     {
                         legalMoves.add(new Moves.MajorMove(board, this, possibleCoordinate));
                     } else //If tile is already occupied
                     {
-                        final Piece currentTilePiece = currentTile.getPiece();
                         final Color pieceColor = currentTilePiece.getPieceColor();
 
                         if (this.color != pieceColor) //If occupied tile has a piece of the opposite color, knight can move to it and claim the piece on it
@@ -73,7 +71,7 @@ public class Rook extends Piece
     @Override
     public Rook movePiece(Moves move)
     {
-        return new Rook(move.getDestination(), move.getMovedPiece().getPieceColor());
+        return new Rook(move.getDestination(), move.getMovedPiece().getPieceColor(), false); //Moved, so no longer on its first move
     }
 
     @Override
@@ -14,9 +14,9 @@ import java.util.List;
 
 public class BlackPlayer extends Player
 {
-    public BlackPlayer(Board board, Collection<Moves> whiteStandardLegalMoves, Collection<Moves> blackStandardLegalMoves)
+    public BlackPlayer(final Board board)
     {
-        super(board, blackStandardLegalMoves, whiteStandardLegalMoves);
+        super(board);
     }
 
     @Override
@@ -44,11 +44,11 @@ public class BlackPlayer extends Player
     }
 
     @Override
-    protected Collection<Moves> calculateKingCastles(Collection<Moves> currentsMoves, Collection<Moves> opponentsMoves)
+    protected Collection<Moves> calculateKingCastles(Collection<Moves> currentsMoves)
     {
         final List<Moves> kingCastles = new ArrayList<>();
 
-        if (this.king.isFirstMove() && !this.isInCheck())
+        if (this.king.getPiecePosition() == 4 && this.king.isFirstMove() && !this.isInCheck())
         {
             if (!this.board.getTile(5).isFull() && !this.board.getTile(6).isFull()) //Spaces between king-side rook and king are empty
             {
@@ -56,9 +56,9 @@ public class BlackPlayer extends Player
 
                 if (rookTile.isFull() && rookTile.getPiece().isFirstMove())
                 {
-                    if (Player.calculateAttacksOnTile(5, opponentsMoves).isEmpty() &&
-                        Player.calculateAttacksOnTile(6, opponentsMoves).isEmpty() &&
-                        rookTile.getPiece().getPieceType().isRook()) //If no tiles between the king and rook can be attacked (on the king side)
+                    if (!this.board.isSquareAttacked(5, Color.WHITE) &&
+                        !this.board.isSquareAttacked(6, Color.WHITE) &&
+                        rookTile.getPiece().getPieceType().isRook() && rookTile.getPiece().getPieceColor() == getColor()) //If no tiles between the king and rook can be attacked (on the king side)
                     {
                         kingCastles.add(new Moves.KingSideCastleMove(this.board, this.king, 6, (Rook) rookTile.getPiece(), rookTile.getTileCoordinate(), 5));
                     }
@@ -71,9 +71,9 @@ public class BlackPlayer extends Player
 
                 if (rookTile.isFull() &&
                     rookTile.getPiece().isFirstMove() &&
-                    Player.calculateAttacksOnTile(2, opponentsMoves).isEmpty() &&
-                    Player.calculateAttacksOnTile(3, opponentsMoves).isEmpty() &&
-                    rookTile.getPiece().getPieceType().isRook()) //If no tiles between the king and rook can be attacked (on the queen side)
+                    !this.board.isSquareAttacked(2, Color.WHITE) &&
+                    !this.board.isSquareAttacked(3, Color.WHITE) &&
+                    rookTile.getPiece().getPieceType().isRook() && rookTile.getPiece().getPieceColor() == getColor()) //If no tiles between the king and rook can be attacked (on the queen side)
                 {
                     kingCastles.add(new Moves.QueenSideCastleMove(this.board, this.king, 2, (Rook) rookTile.getPiece(), rookTile.getTileCoordinate(), 3));
                 }
@@ -2,6 +2,7 @@ package chess.engine.player;
 
 import chess.engine.Color;
 import chess.engine.board.Board;
+import chess.engine.board.LegalMoveDetector;
 import chess.engine.board.Moves;
 import chess.engine.pieces.King;
 import chess.engine.pieces.Piece;
@@ -18,52 +19,44 @@ public abstract class Player
 {
     protected final Board board;
     protected final King king;
-    protected final Collection<Moves> legalMoves;
-    private final boolean isInCheck;
+    private volatile Collection<Moves> legalMoves; //Generated on first use, most boards made during a search never need them
+    private volatile Boolean inCheck; //Both worked out on first use, the evaluator asks several times per board
+    private volatile Boolean escapeMoves;
 
-    Player(final Board board, final Collection<Moves> legalMoves, final Collection<Moves> opponentMoves)
+    Player(final Board board)
     {
         this.board = board;
         this.king = establishKing();
-        this.legalMoves = ImmutableList.copyOf(Iterables.concat(legalMoves, calculateKingCastles(legalMoves, opponentMoves))); //All of the possible moves the player can make
-        this.isInCheck = !Player.calculateAttacksOnTile(this.king.getPiecePosition(), opponentMoves).isEmpty();
-    }
-
-    protected static Collection<Moves> calculateAttacksOnTile(int piecePosition, Collection<Moves> moves) //Returns all of the attacks that can be made on a specific tile by all pieces
-    {
-        final List<Moves> attackMoves = new ArrayList<>();
-        for (final Moves move : moves)
-        {
-            if (piecePosition == move.getDestination())
-            {
-                attackMoves.add(move);
-            }
-        }
-
-        return ImmutableList.copyOf(attackMoves);
     }
 
     private King establishKing() //Returns the king piece
     {
-        for (final Piece piece: getActivePieces())
+        final long kings = this.board.getBitBoard().getPieces(Piece.PieceType.KING, getColor());
+
+        if (kings == 0)
         {
-            if (piece.getPieceType().isKing())
-            {
-                return (King) piece;
-            }
+            throw new RuntimeException("How did you get here!?"); //Both players must initially have a king!
         }
 
-        throw new RuntimeException("How did you get here!?"); //Both players must initially have a king!
+        return (King) this.board.getPiece(Long.numberOfTrailingZeros(kings));
     }
 
     public boolean isMoveLegal(final Moves move)
     {
-        return this.legalMoves.contains(move);
+        return getLegalMoves().contains(move);
     }
 
     public boolean isInCheck()
     {
-        return this.isInCheck;
+        Boolean inCheck = this.inCheck;
+
+        if (inCheck == null) //Two threads may both work it out, the answer is the same
+        {
+            inCheck = this.board.isSquareAttacked(this.king.getPiecePosition(), getColor().isWhite() ? Color.BLACK : Color.WHITE);
+            this.inCheck = inCheck;
+        }
+
+        return inCheck;
     }
 
     public King getPlayerKing()
@@ -73,31 +66,44 @@ public abstract class Player
 
     public Collection<Moves> getLegalMoves()
     {
-        return this.legalMoves;
+        Collection<Moves> moves = this.legalMoves;
+
+        if (moves == null) //Two threads may both generate them, either list is the same
+        {
+            final List<Moves> standardMoves = new ArrayList<>();
+            for (final Piece piece : getActivePieces())
+            {
+                standardMoves.addAll(piece.getLegalMoves(this.board));
+            }
+
+            moves = ImmutableList.copyOf(Iterables.concat(standardMoves, calculateKingCastles(standardMoves))); //All of the possible moves the player can make, whether they leave the king in check is only checked in makeMove
+            this.legalMoves = moves;
+        }
+
+        return moves;
     }
 
     public boolean isInCheckMate()
     {
-        return this.isInCheck && !hasEscapeMoves();
+        return isInCheck() && !hasEscapeMoves();
     }
 
-    protected boolean hasEscapeMoves() //If a king is able to escape check
+    protected boolean hasEscapeMoves() //If any move doesn't leave the king in check. Worked out from the bitboards, no moves are made
     {
-        for (final Moves move : this.legalMoves)
+        Boolean escapeMoves = this.escapeMoves;
+
+        if (escapeMoves == null)
         {
-            final MoveTransition transition = makeMove(move);
-            if (transition.getMoveStatus().isDone())
-            {
-                return true;
-            }
+            escapeMoves = LegalMoveDetector.hasLegalMove(this.board, getColor());
+            this.escapeMoves = escapeMoves;
         }
 
-        return false;
+        return escapeMoves;
     }
 
     public boolean isInStalemate()
     {
-        return !this.isInCheck && !hasEscapeMoves();
+        return !isInCheck() && !hasEscapeMoves();
     }
 
     public boolean isCastled()
@@ -114,9 +120,7 @@ public abstract class Player
 
         final Board transitionBoard = move.execute();
 
-        final Collection<Moves> kingAttacks = Player.calculateAttacksOnTile(transitionBoard.currentPlayer().getOpponent().getPlayerKing().getPiecePosition(), transitionBoard.currentPlayer().getLegalMoves());
-
-        if (!kingAttacks.isEmpty()) //If a player is put into check
+        if (transitionBoard.currentPlayer().getOpponent().isInCheck()) //If a player is put into check
         {
             return new MoveTransition(this.board, move, MoveStatus.LEAVES_PLAYER_IN_CHECK, this.board);
         }
@@ -129,5 +133,5 @@ public abstract class Player
     public abstract Collection<Piece> getActivePieces();
     public abstract Color getColor();
     public abstract Player getOpponent();
-    protected abstract Collection<Moves> calculateKingCastles(Collection<Moves> currentsMoves, Collection<Moves> opponentsMoves);
+    protected abstract Collection<Moves> calculateKingCastles(Collection<Moves> currentsMoves);
 }
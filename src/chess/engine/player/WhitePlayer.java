@@ -16,9 +16,9 @@ import java.util.List;
 
 public class WhitePlayer extends Player
 {
-    public WhitePlayer(Board board, Collection<Moves> whiteStandardLegalMoves, Collection<Moves> blackStandardLegalMoves)
+    public WhitePlayer(final Board board)
     {
-        super(board, whiteStandardLegalMoves, blackStandardLegalMoves);
+        super(board);
     }
 
     @Override
@@ -46,11 +46,11 @@ public class WhitePlayer extends Player
     }
 
     @Override
-    protected Collection<Moves> calculateKingCastles(Collection<Moves> currentsMoves, Collection<Moves> opponentsMoves) //Returns all of the possible castle moves that can be made
+    protected Collection<Moves> calculateKingCastles(Collection<Moves> currentsMoves) //Returns all of the possible castle moves that can be made
     {
         final List<Moves> kingCastles = new ArrayList<>();
 
-        if (this.king.isFirstMove() && !this.isInCheck()) //Preconditions that must be met to castle
+        if (this.king.getPiecePosition() == 60 && this.king.isFirstMove() && !this.isInCheck()) //Preconditions that must be met to castle
         {
             if (!this.board.getTile(61).isFull() &&
                 !this.board.getTile(62).isFull()) //Spaces between king-side rook and king are empty
@@ -59,11 +59,11 @@ public class WhitePlayer extends Player
 
                 if (rookTile.isFull() && rookTile.getPiece().isFirstMove()) //If the rook hasn't yet been moved
                 {
-                    if (Player.calculateAttacksOnTile(61, opponentsMoves).isEmpty() &&
-                        Player.calculateAttacksOnTile(62, opponentsMoves).isEmpty() &&
-                        rookTile.getPiece().getPieceType().isRook()) //If no black pieces can attack the tiles inbetween the king and rook (on the king side)
+                    if (!this.board.isSquareAttacked(61, Color.BLACK) &&
+                        !this.board.isSquareAttacked(62, Color.BLACK) &&
+                        rookTile.getPiece().getPieceType().isRook() && rookTile.getPiece().getPieceColor() == getColor()) //If no black pieces can attack the tiles inbetween the king and rook (on the king side)
                     {
-                        kingCastles.add(new Moves.KingSideCastleMove(this.board, this.king, 62, (Rook) rookTile.getPiece(), rookTile.getTileCoordinate(), 59));
+                        kingCastles.add(new Moves.KingSideCastleMove(this.board, this.king, 62, (Rook) rookTile.getPiece(), rookTile.getTileCoordinate(), 61));
                     }
                 }
             }
@@ -76,9 +76,9 @@ public class WhitePlayer extends Player
 
                 if (rookTile.isFull() &&
                     rookTile.getPiece().isFirstMove() &&
-                    Player.calculateAttacksOnTile(58, opponentsMoves).isEmpty() &&
-                    Player.calculateAttacksOnTile(59, opponentsMoves).isEmpty() &&
-                    rookTile.getPiece().getPieceType().isRook()) //If no pieces can attack the tiles inbetween the king and rook (on the queen side)
+                    !this.board.isSquareAttacked(58, Color.BLACK) &&
+                    !this.board.isSquareAttacked(59, Color.BLACK) &&
+                    rookTile.getPiece().getPieceType().isRook() && rookTile.getPiece().getPieceColor() == getColor()) //If no pieces can attack the tiles inbetween the king and rook (on the queen side)
                 {
                     kingCastles.add(new Moves.QueenSideCastleMove(this.board, this.king, 58, (Rook) rookTile.getPiece(), rookTile.getTileCoordinate(), 59));
                 }
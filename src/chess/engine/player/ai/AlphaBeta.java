@@ -0,0 +1,755 @@
+package chess.engine.player.ai;
+
+import chess.engine.board.Board;
+import chess.engine.board.CompactMove;
+import chess.engine.board.Moves;
+import chess.engine.board.SearchBoard;
+import chess.engine.player.MoveTransition;
+import com.google.common.collect.ImmutableList;
+
+import java.util.Arrays;
+import java.util.List;
+
+//MinMax with alpha-beta pruning: once a move is shown to be worse than one already found for the side choosing at a node
+//above, the rest of its replies are skipped. Picks the same moves as MinMax while visiting far fewer nodes
+//Results are kept in a TranspositionTable, positions reached again are answered from it and its best move is tried first.
+//The other moves come from a MovePicker, so the move most likely to cause a cut-off is usually searched before the rest.
+//At depth 0 captures are played out by a quiescence search, so a leaf is never scored halfway through an exchange;
+//a side in check there can't stand pat on the evaluation, and all its evasions are searched instead.
+//Two optional prunings trade a little accuracy for a much smaller tree: null move pruning lets the side to move pass,
+//and if a shallower search still can't get the opponent back into the window the node is cut off without trying a
+//move; late move reductions search quiet moves that come late in the ordering one ply shallower, and search them
+//again at full depth only if they turn out better than expected. With principal variation search on, every move after
+//the first is only tested against a null window, and searched again with the full window if it turns out better.
+//The best line found is kept along the way, see getPrincipalVariation.
+//execute ages the TranspositionTable before searching, search doesn't: a strategy that searches one move several times
+//(deeper, or with a wider window) calls newSearch once and then search, so later passes keep the earlier ones' results.
+//Several AlphaBetas on different threads may share one table, see LazySmp: only the main search ages it, and
+//setStopped makes a running search give up from another thread
+
+public class AlphaBeta implements MoveStrategy
+{
+    private BoardEvaluator boardEvaluator;
+    private final TranspositionTable transpositionTable;
+    private final MoveOrdering moveOrdering; //Kept across calls to execute, so each iterative deepening pass starts from the last one's history
+    private int searchDepth;
+    private long nodesSearched;
+    private long quiescenceNodes;
+    private long cutOffs;
+    private long nullMoveCutOffs;
+    private long reducedMoves;
+    private long reSearches;
+    private long nullWindowReSearches;
+    private int score;
+    private Board rootBoard;
+    private int[] rootPrincipalVariation;
+    private final int[][] principalVariation; //[ply][ply..], the best line found from each ply down, built up triangle style
+    private final int[] principalVariationLength; //End of each ply's line
+    private long deadline; //System.nanoTime() after which the search gives up, if hasDeadline
+    private boolean hasDeadline;
+    private boolean timedOut;
+    private volatile boolean stopped;
+    private boolean quiet;
+    private boolean quiescence;
+    private boolean nullMovePruning;
+    private boolean lateMoveReductions;
+    private boolean principalVariationSearch;
+
+    private static final int CLOCK_CHECK_INTERVAL = 1024; //Nodes between looks at the clock
+    private static final int MAX_QUIESCENCE_DEPTH = 8; //Captures in a row past the leaf before the position is scored as it stands
+    private static final int DELTA_MARGIN = 200; //A capture that can't lift the score to within this of highest/lowest isn't searched
+    private static final int NULL_MOVE_REDUCTION = 2; //How much shallower the search after passing is
+    private static final int NULL_MOVE_MIN_DEPTH = 3;
+    private static final int LATE_MOVE_MIN_DEPTH = 3;
+    private static final int FULL_DEPTH_MOVES = 3; //Moves searched at full depth before any are reduced
+    private static final int MATE_SCORE_RANGE = MoveOrdering.MAX_PLY; //Mate scores are within this of PieceSquareEvaluator.CHECK_MATE_SCORE
+
+    public AlphaBeta()
+    {
+        this(new TranspositionTable(TranspositionTable.DEFAULT_SIZE_MB));
+    }
+
+    public AlphaBeta(final TranspositionTable transpositionTable) //The table may be shared with other searches, even on other threads
+    {
+        this.boardEvaluator = new StandardBoardEvaluator();
+        this.transpositionTable = transpositionTable;
+        this.moveOrdering = new MoveOrdering();
+        this.quiescence = true;
+        this.principalVariation = new int[MoveOrdering.MAX_PLY + 1][MoveOrdering.MAX_PLY + 1];
+        this.principalVariationLength = new int[MoveOrdering.MAX_PLY + 1];
+        this.rootPrincipalVariation = new int[0];
+    }
+
+    @Override
+    public String toString()
+    {
+        return "AlphaBeta";
+    }
+
+    public long getNodesSearched() //Nodes visited by the last call to execute
+    {
+        return this.nodesSearched;
+    }
+
+    public long getQuiescenceNodes() //Positions reached by a capture past depth 0 in the last call to execute, not counted in getNodesSearched
+    {
+        return this.quiescenceNodes;
+    }
+
+    public long getCutOffs() //Nodes whose remaining moves were skipped in the last call to execute
+    {
+        return this.cutOffs;
+    }
+
+    public long getNullMoveCutOffs() //Nodes cut off by passing the turn in the last call to execute
+    {
+        return this.nullMoveCutOffs;
+    }
+
+    public long getReducedMoves() //Late moves searched a ply shallower in the last call to execute
+    {
+        return this.reducedMoves;
+    }
+
+    public long getReSearches() //Of those, the ones that had to be searched again at full depth
+    {
+        return this.reSearches;
+    }
+
+    public long getNullWindowReSearches() //Moves that beat the null window and had to be searched again with the full one
+    {
+        return this.nullWindowReSearches;
+    }
+
+    public int getScore() //Evaluation of the last search's move. At or outside the window passed to search if the real one is outside it
+    {
+        return this.score;
+    }
+
+    @Override
+    public List<Moves> getPrincipalVariation() //Best line of the last search, its move first. Stops early where the line was answered from the TranspositionTable
+    {
+        final ImmutableList.Builder<Moves> line = ImmutableList.builder();
+        Board board = this.rootBoard;
+
+        for (final int move : this.rootPrincipalVariation)
+        {
+            final Moves nextMove = CompactMove.toMove(board, move);
+            final MoveTransition transition = board.currentPlayer().makeMove(nextMove);
+            if (!transition.getMoveStatus().isDone())
+            {
+                break;
+            }
+            line.add(nextMove);
+            board = transition.getToBoard();
+        }
+
+        return line.build();
+    }
+
+    public double getEffectiveBranchingFactor() //The b for which b^depth is the number of nodes the last call to execute searched
+    {
+        return this.searchDepth == 0 ? 0 : Math.pow(this.nodesSearched, 1.0 / this.searchDepth);
+    }
+
+    public TranspositionTable getTranspositionTable()
+    {
+        return this.transpositionTable;
+    }
+
+    public void setDeadline(final long deadline) //Later calls to execute stop early once System.nanoTime() passes this
+    {
+        this.deadline = deadline;
+        this.hasDeadline = true;
+    }
+
+    public void clearDeadline() //Searches only stop when finished, or when stopped
+    {
+        this.hasDeadline = false;
+    }
+
+    public void setBoardEvaluator(final BoardEvaluator boardEvaluator) //StandardBoardEvaluator by default
+    {
+        this.boardEvaluator = boardEvaluator;
+    }
+
+    public void setQuiescence(final boolean quiescence) //Without it leaves are scored as they stand, same as MinMax
+    {
+        this.quiescence = quiescence;
+    }
+
+    public void setNullMovePruning(final boolean nullMovePruning) //Off by default, may cut off a line the full search wouldn't
+    {
+        this.nullMovePruning = nullMovePruning;
+    }
+
+    public void setLateMoveReductions(final boolean lateMoveReductions) //Off by default, may miss a late move that only works at full depth
+    {
+        this.lateMoveReductions = lateMoveReductions;
+    }
+
+    public void setPrincipalVariationSearch(final boolean principalVariationSearch) //Off by default, same result in fewer nodes when the first move is usually the best
+    {
+        this.principalVariationSearch = principalVariationSearch;
+    }
+
+    public void setStopped(final boolean stopped) //Safe to call from another thread. While set, searches give up as if out of time
+    {
+        this.stopped = stopped;
+    }
+
+    public void setQuiet(final boolean quiet) //Doesn't print what each search found
+    {
+        this.quiet = quiet;
+    }
+
+    public boolean isTimedOut() //True if the last call to execute ran out of time or was stopped, its move is then only the best of the moves it finished, or the first legal one
+    {
+        return this.timedOut;
+    }
+
+    @Override
+    public Moves execute(final Board board, final int depth)
+    {
+        newSearch();
+        return search(board, depth, Integer.MIN_VALUE, Integer.MAX_VALUE);
+    }
+
+    public void newSearch() //Ages the TranspositionTable, once per move played, see above
+    {
+        this.transpositionTable.newSearch();
+    }
+
+    public Moves search(final Board board, final int depth, final int highest, final int lowest) //Searches only for a score between highest and lowest, see getScore. Leaves the table's age alone
+    {
+        if (depth < 1 || depth > IterativeDeepening.MAX_DEPTH) //Quiescence adds plies on top, past MoveOrdering.MAX_PLY there are no pickers left
+        {
+            throw new RuntimeException("AlphaBeta can't search to depth " + depth + ", it needs 1 to " + IterativeDeepening.MAX_DEPTH);
+        }
+
+        final long startTime = System.currentTimeMillis();
+
+        final SearchBoard searchBoard = new SearchBoard(board);
+        this.searchDepth = depth;
+        this.nodesSearched = 0;
+        this.quiescenceNodes = 0;
+        this.cutOffs = 0;
+        this.nullMoveCutOffs = 0;
+        this.reducedMoves = 0;
+        this.reSearches = 0;
+        this.nullWindowReSearches = 0;
+        this.timedOut = false;
+        this.moveOrdering.newSearch();
+        this.principalVariationLength[0] = 0;
+
+        final boolean isWhite = board.currentPlayer().getColor().isWhite();
+        int bestMove = CompactMove.NO_MOVE;
+        int bestValue = isWhite ? Integer.MIN_VALUE : Integer.MAX_VALUE;
+        int currentHighest = highest;
+        int currentLowest = lowest;
+        int movesSearched = 0;
+
+        if (!this.quiet)
+        {
+            System.out.println(board.currentPlayer() + " Thinking with depth = " + depth);
+        }
+
+        final MovePicker picker = this.moveOrdering.getPicker(0);
+        picker.reset(searchBoard, TranspositionTable.getMove(this.transpositionTable.probe(searchBoard.getZobristKey())));
+
+        for (int move = picker.next(); move != CompactMove.NO_MOVE; move = picker.next()) //Search through the current player's moves
+        {
+            if (searchBoard.makeMove(move))
+            {
+                final int currentValue = searchMove(searchBoard, depth, currentHighest, currentLowest, false, this.principalVariationSearch && movesSearched > 0);
+                movesSearched++;
+                searchBoard.unmakeMove();
+
+                if (this.timedOut) //The last move's value is incomplete, ignore it
+                {
+                    if (bestMove == CompactMove.NO_MOVE) //Not one move finished, but any legal move is better than none
+                    {
+                        bestMove = move;
+                    }
+                    break;
+                }
+
+                if (isWhite ? currentValue > bestValue : currentValue < bestValue) //Found a new best move
+                {
+                    bestValue = currentValue;
+                    bestMove = move;
+                    updatePrincipalVariation(0, move);
+                }
+                else if (bestMove == CompactMove.NO_MOVE)
+                {
+                    bestMove = move;
+                }
+
+                if (isWhite)
+                {
+                    currentHighest = Math.max(currentHighest, bestValue);
+                }
+                else
+                {
+                    currentLowest = Math.min(currentLowest, bestValue);
+                }
+                if (currentHighest >= currentLowest) //Outside the window, the caller has to search again with a wider one
+                {
+                    break;
+                }
+            }
+        }
+
+        if (!this.timedOut && bestMove != CompactMove.NO_MOVE)
+        {
+            store(searchBoard, bestMove, bestValue, depth, highest, lowest);
+        }
+
+        this.score = bestValue;
+        this.rootBoard = board;
+        this.rootPrincipalVariation = Arrays.copyOf(this.principalVariation[0], this.principalVariationLength[0]);
+
+        if (!this.quiet)
+        {
+            final long executionTime = System.currentTimeMillis() - startTime;
+            System.out.println(this + " searched " + this.nodesSearched + " nodes and " + this.quiescenceNodes + " quiescence nodes with " + this.cutOffs + " cut-offs in " + executionTime + " ms");
+            if (this.nullMovePruning || this.lateMoveReductions || this.principalVariationSearch)
+            {
+                System.out.println(String.format("%d null move cut-offs, %d reduced moves (%d searched again), %d null window re-searches, effective branching factor %.2f",
+                                                 this.nullMoveCutOffs, this.reducedMoves, this.reSearches, this.nullWindowReSearches, getEffectiveBranchingFactor()));
+            }
+            System.out.println(this.transpositionTable);
+        }
+
+        if (bestMove == CompactMove.NO_MOVE)
+        {
+            return null;
+        }
+
+        return CompactMove.toMove(board, bestMove);
+    }
+
+    public int min(final SearchBoard board, final int depth, final int highest, int lowest) //Black to move: lowers lowest, gives up once it drops to highest
+    {
+        this.principalVariationLength[board.getPly()] = board.getPly();
+        if (isOutOfTime())
+        {
+            return 0; //Thrown away by the root
+        }
+
+        if (depth == 0) //Done searching, apart from the captures
+        {
+            return quiesceMin(board, highest, lowest, board.getPly(), 0);
+        }
+
+        final long entry = this.transpositionTable.probe(board.getZobristKey());
+        if (isUsable(entry, depth, highest, lowest))
+        {
+            return getTableScore(entry, depth);
+        }
+
+        final boolean inCheck = (this.nullMovePruning || this.lateMoveReductions) && board.isInCheck();
+        if (canPassTurn(board, depth, inCheck) && highest != Integer.MIN_VALUE)
+        {
+            board.makeNullMove();
+            final int nullMoveValue = max(board, depth - 1 - NULL_MOVE_REDUCTION, highest, highest + 1); //Only asks whether white gets above highest
+            board.unmakeNullMove();
+
+            if (!this.timedOut && nullMoveValue <= highest) //Even passing leaves white no better than highest
+            {
+                this.nullMoveCutOffs++;
+                return nullMoveValue;
+            }
+        }
+
+        final int originalLowest = lowest;
+        int lowestSeenValue = Integer.MAX_VALUE;
+        int bestMove = CompactMove.NO_MOVE;
+        int movesSearched = 0;
+
+        final int ply = board.getPly();
+        final MovePicker picker = this.moveOrdering.getPicker(ply);
+        picker.reset(board, TranspositionTable.getMove(entry));
+
+        for (int move = picker.next(); move != CompactMove.NO_MOVE; move = picker.next())
+        {
+            if (board.makeMove(move))
+            {
+                final boolean reduce = canReduce(board, move, depth, ply, movesSearched, inCheck);
+                final int currentValue = searchMove(board, depth, highest, lowest, reduce, this.principalVariationSearch && movesSearched > 0); //Call to max
+                movesSearched++;
+                board.unmakeMove();
+
+                if (this.timedOut)
+                {
+                    return 0;
+                }
+
+                if (currentValue < lowestSeenValue || bestMove == CompactMove.NO_MOVE)
+                {
+                    lowestSeenValue = currentValue;
+                    bestMove = move;
+                    updatePrincipalVariation(ply, move);
+                }
+                lowest = Math.min(lowest, lowestSeenValue);
+                if (lowest <= highest) //White already has something better elsewhere
+                {
+                    this.cutOffs++;
+                    this.moveOrdering.recordCutOff(move, ply, depth);
+                    break;
+                }
+            }
+        }
+
+        if (bestMove == CompactMove.NO_MOVE) //Checkmate or stalemate
+        {
+            return this.boardEvaluator.evaluate(board, depth);
+        }
+
+        store(board, bestMove, lowestSeenValue, depth, highest, originalLowest);
+        return lowestSeenValue;
+    }
+
+    public int max(final SearchBoard board, final int depth, int highest, final int lowest) //White to move: raises highest, gives up once it reaches lowest
+    {
+        this.principalVariationLength[board.getPly()] = board.getPly();
+        if (isOutOfTime())
+        {
+            return 0; //Thrown away by the root
+        }
+
+        if (depth == 0) //Done searching, apart from the captures
+        {
+            return quiesceMax(board, highest, lowest, board.getPly(), 0);
+        }
+
+        final long entry = this.transpositionTable.probe(board.getZobristKey());
+        if (isUsable(entry, depth, highest, lowest))
+        {
+            return getTableScore(entry, depth);
+        }
+
+        final boolean inCheck = (this.nullMovePruning || this.lateMoveReductions) && board.isInCheck();
+        if (canPassTurn(board, depth, inCheck) && lowest != Integer.MAX_VALUE)
+        {
+            board.makeNullMove();
+            final int nullMoveValue = min(board, depth - 1 - NULL_MOVE_REDUCTION, lowest - 1, lowest); //Only asks whether black gets below lowest
+            board.unmakeNullMove();
+
+            if (!this.timedOut && nullMoveValue >= lowest) //Even passing leaves black no better than lowest
+            {
+                this.nullMoveCutOffs++;
+                return nullMoveValue;
+            }
+        }
+
+        final int originalHighest = highest;
+        int highestSeenValue = Integer.MIN_VALUE;
+        int bestMove = CompactMove.NO_MOVE;
+        int movesSearched = 0;
+
+        final int ply = board.getPly();
+        final MovePicker picker = this.moveOrdering.getPicker(ply);
+        picker.reset(board, TranspositionTable.getMove(entry));
+
+        for (int move = picker.next(); move != CompactMove.NO_MOVE; move = picker.next())
+        {
+            if (board.makeMove(move))
+            {
+                final boolean reduce = canReduce(board, move, depth, ply, movesSearched, inCheck);
+                final int currentValue = searchMove(board, depth, highest, lowest, reduce, this.principalVariationSearch && movesSearched > 0); //Call to min
+                movesSearched++;
+                board.unmakeMove();
+
+                if (this.timedOut)
+                {
+                    return 0;
+                }
+
+                if (currentValue > highestSeenValue || bestMove == CompactMove.NO_MOVE)
+                {
+                    highestSeenValue = currentValue;
+                    bestMove = move;
+                    updatePrincipalVariation(ply, move);
+                }
+                highest = Math.max(highest, highestSeenValue);
+                if (highest >= lowest) //Black already has something better elsewhere
+                {
+                    this.cutOffs++;
+                    this.moveOrdering.recordCutOff(move, ply, depth);
+                    break;
+                }
+            }
+        }
+
+        if (bestMove == CompactMove.NO_MOVE) //Checkmate or stalemate
+        {
+            return this.boardEvaluator.evaluate(board, depth);
+        }
+
+        store(board, bestMove, highestSeenValue, depth, originalHighest, lowest);
+        return highestSeenValue;
+    }
+
+    private int quiesceMin(final SearchBoard board, final int highest, int lowest, final int ply, final int quiescenceDepth) //Black to move at a leaf: either stands pat on the evaluation or captures, in check it has to get out of it
+    {
+        final int standPat = this.boardEvaluator.evaluate(board, 0);
+        if (!this.quiescence || quiescenceDepth == MAX_QUIESCENCE_DEPTH)
+        {
+            return standPat;
+        }
+
+        final boolean inCheck = board.isInCheck();
+        if (!inCheck && standPat <= highest) //Already bad enough for white to avoid this position
+        {
+            return standPat;
+        }
+
+        int lowestSeenValue = inCheck ? Integer.MAX_VALUE : standPat;
+        lowest = Math.min(lowest, lowestSeenValue);
+
+        final MovePicker picker = this.moveOrdering.getPicker(ply);
+        if (inCheck)
+        {
+            picker.reset(board, CompactMove.NO_MOVE);
+        }
+        else
+        {
+            picker.resetCaptures(board);
+        }
+
+        for (int move = picker.next(); move != CompactMove.NO_MOVE; move = picker.next())
+        {
+            if (!inCheck && standPat - MoveOrdering.getMaterialGain(board, move) - DELTA_MARGIN >= lowest) //Can't beat what black is already sure of
+            {
+                continue;
+            }
+
+            if (board.makeMove(move))
+            {
+                this.quiescenceNodes++;
+                final int currentValue = checkClock() ? 0 : quiesceMax(board, highest, lowest, ply + 1, quiescenceDepth + 1);
+                board.unmakeMove();
+
+                if (this.timedOut)
+                {
+                    return 0;
+                }
+
+                lowestSeenValue = Math.min(lowestSeenValue, currentValue);
+                lowest = Math.min(lowest, lowestSeenValue);
+                if (lowest <= highest)
+                {
+                    this.cutOffs++;
+                    break;
+                }
+            }
+        }
+
+        if (lowestSeenValue == Integer.MAX_VALUE) //In check with no legal move, the evaluator scores the mate
+        {
+            return standPat;
+        }
+
+        return lowestSeenValue;
+    }
+
+    private int quiesceMax(final SearchBoard board, int highest, final int lowest, final int ply, final int quiescenceDepth) //White to move at a leaf, same as quiesceMin
+    {
+        final int standPat = this.boardEvaluator.evaluate(board, 0);
+        if (!this.quiescence || quiescenceDepth == MAX_QUIESCENCE_DEPTH)
+        {
+            return standPat;
+        }
+
+        final boolean inCheck = board.isInCheck();
+        if (!inCheck && standPat >= lowest) //Already bad enough for black to avoid this position
+        {
+            return standPat;
+        }
+
+        int highestSeenValue = inCheck ? Integer.MIN_VALUE : standPat;
+        highest = Math.max(highest, highestSeenValue);
+
+        final MovePicker picker = this.moveOrdering.getPicker(ply);
+        if (inCheck)
+        {
+            picker.reset(board, CompactMove.NO_MOVE);
+        }
+        else
+        {
+            picker.resetCaptures(board);
+        }
+
+        for (int move = picker.next(); move != CompactMove.NO_MOVE; move = picker.next())
+        {
+            if (!inCheck && standPat + MoveOrdering.getMaterialGain(board, move) + DELTA_MARGIN <= highest) //Can't beat what white is already sure of
+            {
+                continue;
+            }
+
+            if (board.makeMove(move))
+            {
+                this.quiescenceNodes++;
+                final int currentValue = checkClock() ? 0 : quiesceMin(board, highest, lowest, ply + 1, quiescenceDepth + 1);
+                board.unmakeMove();
+
+                if (this.timedOut)
+                {
+                    return 0;
+                }
+
+                highestSeenValue = Math.max(highestSeenValue, currentValue);
+                highest = Math.max(highest, highestSeenValue);
+                if (highest >= lowest)
+                {
+                    this.cutOffs++;
+                    break;
+                }
+            }
+        }
+
+        if (highestSeenValue == Integer.MIN_VALUE) //In check with no legal move, the evaluator scores the mate
+        {
+            return standPat;
+        }
+
+        return highestSeenValue;
+    }
+
+    private int searchMove(final SearchBoard board, final int depth, final int highest, final int lowest, final boolean reduce, final boolean nullWindow) //With the move made at a node of this depth
+    {
+        final boolean whiteMoved = !board.getMoveMaker().isWhite();
+        final int nullWindowHighest = whiteMoved ? highest : lowest - 1; //Only asks whether the move beats the mover's best so far
+        final int nullWindowLowest = whiteMoved ? highest + 1 : lowest;
+        int value;
+
+        if (reduce)
+        {
+            value = nullWindow ? searchChild(board, depth - 2, nullWindowHighest, nullWindowLowest) : searchChild(board, depth - 2, highest, lowest); //One ply shallower
+            if (!(whiteMoved ? value > highest : value < lowest)) //No better than expected
+            {
+                return value;
+            }
+            this.reSearches++;
+        }
+
+        if (nullWindow)
+        {
+            value = searchChild(board, depth - 1, nullWindowHighest, nullWindowLowest);
+            if (value <= highest || value >= lowest) //Not better, or so much better it cuts off anyway
+            {
+                return value;
+            }
+            this.nullWindowReSearches++;
+        }
+
+        return searchChild(board, depth - 1, highest, lowest);
+    }
+
+    private int searchChild(final SearchBoard board, final int depth, final int highest, final int lowest)
+    {
+        return board.getMoveMaker().isWhite() ? max(board, depth, highest, lowest) : min(board, depth, highest, lowest);
+    }
+
+    private void updatePrincipalVariation(final int ply, final int move) //The move followed by the best line found after it
+    {
+        final int[] line = this.principalVariation[ply];
+        final int childLength = this.principalVariationLength[ply + 1];
+
+        line[ply] = move;
+        System.arraycopy(this.principalVariation[ply + 1], ply + 1, line, ply + 1, childLength - (ply + 1));
+        this.principalVariationLength[ply] = Math.max(childLength, ply + 1);
+    }
+
+    private boolean canPassTurn(final SearchBoard board, final int depth, final boolean inCheck) //Null move pruning is unsound in check, twice in a row, and in likely zugzwang
+    {
+        return this.nullMovePruning && depth >= NULL_MOVE_MIN_DEPTH && !inCheck && !board.isAfterNullMove() && board.hasPiecesOtherThanPawns();
+    }
+
+    private boolean canReduce(final SearchBoard board, final int move, final int depth, final int ply, final int movesSearched, final boolean inCheck) //Called with move made
+    {
+        if (!this.lateMoveReductions || depth < LATE_MOVE_MIN_DEPTH || movesSearched < FULL_DEPTH_MOVES || inCheck ||
+            CompactMove.isAttack(move) || CompactMove.isPromotion(move) ||
+            move == this.moveOrdering.getKiller(ply, 0) || move == this.moveOrdering.getKiller(ply, 1) ||
+            board.isInCheck()) //Checks and tactics stay at full depth
+        {
+            return false;
+        }
+
+        this.reducedMoves++;
+        return true;
+    }
+
+    private static boolean isUsable(final long entry, final int depth, final int highest, final int lowest) //Whether a stored result settles this node without searching it
+    {
+        if (entry == TranspositionTable.NO_ENTRY || TranspositionTable.getDepth(entry) < depth)
+        {
+            return false;
+        }
+
+        final int score = getTableScore(entry, depth);
+        switch (TranspositionTable.getBound(entry))
+        {
+            case TranspositionTable.EXACT:
+                return true;
+            case TranspositionTable.LOWER_BOUND:
+                return score >= lowest;
+            case TranspositionTable.UPPER_BOUND:
+                return score <= highest;
+            default:
+                return false;
+        }
+    }
+
+    private void store(final SearchBoard board, final int bestMove, final int value, final int depth, final int highest, final int lowest) //highest and lowest as the node was called with
+    {
+        final int bound = value <= highest ? TranspositionTable.UPPER_BOUND //Every move failed low, or a cut-off: the real value is no higher
+                        : value >= lowest ? TranspositionTable.LOWER_BOUND
+                        : TranspositionTable.EXACT;
+        this.transpositionTable.store(board.getZobristKey(), bestMove, toTableScore(value, depth), depth, bound);
+    }
+
+    //A mate score is CHECK_MATE_SCORE plus the depth left where the mate happens, so it depends on how deep the search was
+    //when it got to the position. The table keeps it as the distance from the node that stored it, and getTableScore turns
+    //that back into a score for the depth left at the node reading it, however it got there
+    private static int toTableScore(final int value, final int depth)
+    {
+        if (!isMateScore(value))
+        {
+            return value;
+        }
+        return value > 0 ? value - depth : value + depth;
+    }
+
+    private static int getTableScore(final long entry, final int depth)
+    {
+        final int score = TranspositionTable.getScore(entry);
+        if (!isMateScore(score))
+        {
+            return score;
+        }
+        return score > 0 ? score + depth : score - depth;
+    }
+
+    private static boolean isMateScore(final int score) //Only PieceSquareEvaluator's, StandardBoardEvaluator's mate bonus scales with the depth left instead
+    {
+        return Math.abs(Math.abs(score) - PieceSquareEvaluator.CHECK_MATE_SCORE) <= MATE_SCORE_RANGE;
+    }
+
+    private boolean isOutOfTime() //Counts the node, and every so often checks the clock
+    {
+        this.nodesSearched++;
+        return checkClock();
+    }
+
+    private boolean checkClock() //Looks at the clock and the stop flag every CLOCK_CHECK_INTERVAL nodes, quiescence ones included
+    {
+        if (!this.timedOut && (this.nodesSearched + this.quiescenceNodes) % CLOCK_CHECK_INTERVAL == 0)
+        {
+            this.timedOut = this.stopped || this.hasDeadline && System.nanoTime() - this.deadline > 0;
+        }
+
+        return this.timedOut;
+    }
+}
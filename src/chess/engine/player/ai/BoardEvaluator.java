@@ -1,10 +1,16 @@
 package chess.engine.player.ai;
 
 import chess.engine.board.Board;
+import chess.engine.board.SearchBoard;
 
-//Used by MinMax
+//Used by MinMax and AlphaBeta to score positions, see StandardBoardEvaluator and PieceSquareEvaluator
 
 public interface BoardEvaluator
 {
     int evaluate(Board board, int depth);
+
+    default int evaluate(final SearchBoard board, final int depth) //What the searches call at their leaves. Builds a Board unless the evaluator can score the SearchBoard directly
+    {
+        return evaluate(board.toBoard(), depth);
+    }
 }
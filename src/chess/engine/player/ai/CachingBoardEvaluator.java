@@ -0,0 +1,147 @@
+package chess.engine.player.ai;
+
+import chess.engine.board.Board;
+import chess.engine.board.SearchBoard;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+//Wraps another BoardEvaluator and remembers its scores, so a position reached again in a sibling subtree isn't scored twice.
+//Keyed by the position's Zobrist key mixed with the depth, which evaluators may score differently (checkmates found sooner).
+//A fixed number of entries, a new score always replaces the one in its slot. Same layout as the TranspositionTable: two
+//longs per entry with the key XORed with the data and no locking, so one cache can serve several searches at once
+
+public final class CachingBoardEvaluator implements BoardEvaluator
+{
+    public static final int DEFAULT_SIZE_MB = 8;
+
+    private static final int BYTES_PER_ENTRY = 2 * Long.BYTES;
+    private static final long VALID = 1L << 32; //Set in every stored entry, so an empty slot never matches
+    private static final long DEPTH_MULTIPLIER = 0x9E3779B97F4A7C15L; //Spreads the depth over every bit of the key
+
+    private final BoardEvaluator boardEvaluator;
+    private final long[] keys;
+    private final long[] data;
+    private final int mask;
+
+    private final LongAdder hits;
+    private final LongAdder misses;
+
+    public CachingBoardEvaluator(final BoardEvaluator boardEvaluator)
+    {
+        this(boardEvaluator, DEFAULT_SIZE_MB);
+    }
+
+    public CachingBoardEvaluator(final BoardEvaluator boardEvaluator, final int sizeInMegabytes) //The wrapped evaluator has to be thread safe too if the cache is shared
+    {
+        final long maxEntries = Math.max(1L, (long) sizeInMegabytes * 1024 * 1024 / BYTES_PER_ENTRY);
+        final int numEntries = Integer.highestOneBit((int) Math.min(maxEntries, 1 << 30));
+
+        this.boardEvaluator = boardEvaluator;
+        this.keys = new long[numEntries];
+        this.data = new long[numEntries];
+        this.mask = numEntries - 1;
+        this.hits = new LongAdder();
+        this.misses = new LongAdder();
+    }
+
+    public BoardEvaluator getBoardEvaluator() //The evaluator being cached
+    {
+        return this.boardEvaluator;
+    }
+
+    @Override
+    public int evaluate(final Board board, final int depth)
+    {
+        final long key = cacheKey(board.getZobristKey(), depth);
+        final long entry = probe(key);
+        if (entry != 0L)
+        {
+            return (int) entry;
+        }
+
+        final int score = this.boardEvaluator.evaluate(board, depth);
+        store(key, score);
+        return score;
+    }
+
+    @Override
+    public int evaluate(final SearchBoard board, final int depth) //Passed on as a SearchBoard, so the wrapped evaluator can still score it without building a Board
+    {
+        final long key = cacheKey(board.getZobristKey(), depth);
+        final long entry = probe(key);
+        if (entry != 0L)
+        {
+            return (int) entry;
+        }
+
+        final int score = this.boardEvaluator.evaluate(board, depth);
+        store(key, score);
+        return score;
+    }
+
+    private static long cacheKey(final long zobristKey, final int depth)
+    {
+        return zobristKey ^ (depth * DEPTH_MULTIPLIER);
+    }
+
+    private long probe(final long key) //The stored entry, or 0
+    {
+        final int index = (int) key & this.mask;
+        final long entry = this.data[index];
+
+        if ((this.keys[index] ^ entry) == key && entry != 0L)
+        {
+            this.hits.increment();
+            return entry;
+        }
+
+        this.misses.increment();
+        return 0L;
+    }
+
+    private void store(final long key, final int score)
+    {
+        final int index = (int) key & this.mask;
+        final long entry = VALID | (score & 0xFFFFFFFFL);
+
+        this.data[index] = entry;
+        this.keys[index] = key ^ entry;
+    }
+
+    public void clear()
+    {
+        Arrays.fill(this.keys, 0L);
+        Arrays.fill(this.data, 0L);
+        this.hits.reset();
+        this.misses.reset();
+    }
+
+    public int size() //Number of entries
+    {
+        return this.data.length;
+    }
+
+    public long getHits()
+    {
+        return this.hits.sum();
+    }
+
+    public long getMisses()
+    {
+        return this.misses.sum();
+    }
+
+    public double getHitRate()
+    {
+        final long hits = getHits();
+        final long probes = hits + getMisses();
+        return probes == 0 ? 0.0 : (double) hits / probes;
+    }
+
+    @Override
+    public String toString()
+    {
+        return String.format("CachingBoardEvaluator: %d entries, %d hits, %d misses (%.1f%% hit rate)", size(), getHits(), getMisses(), 100.0 * getHitRate());
+    }
+}
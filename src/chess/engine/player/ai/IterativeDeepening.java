@@ -0,0 +1,95 @@
+package chess.engine.player.ai;
+
+import chess.engine.board.Board;
+import chess.engine.board.Moves;
+
+import java.util.Collections;
+import java.util.List;
+
+//Searches with AlphaBeta at depth 1, 2, 3... until the time budget runs out, and plays the best move of the deepest
+//search that finished. Quiet positions get searched deeper and tactical ones shallower, but the wait is always about the same
+
+public class IterativeDeepening implements MoveStrategy
+{
+    public static final int MAX_DEPTH = 64; //Depth to pass to execute when only the clock should stop the search
+
+    private final long searchTimeMillis;
+    private final AlphaBeta alphaBeta; //Its TranspositionTable carries each depth's best moves into the next, so it searches them first
+    private int completedDepth;
+    private List<Moves> principalVariation;
+
+    public IterativeDeepening(final long searchTimeMillis)
+    {
+        this(searchTimeMillis, new TranspositionTable(TranspositionTable.DEFAULT_SIZE_MB));
+    }
+
+    public IterativeDeepening(final long searchTimeMillis, final TranspositionTable transpositionTable)
+    {
+        this.searchTimeMillis = searchTimeMillis;
+        this.alphaBeta = new AlphaBeta(transpositionTable);
+        this.principalVariation = Collections.emptyList();
+    }
+
+    @Override
+    public String toString()
+    {
+        return "IterativeDeepening";
+    }
+
+    public AlphaBeta getAlphaBeta() //The search run at each depth, e.g. to turn its prunings on
+    {
+        return this.alphaBeta;
+    }
+
+    @Override
+    public List<Moves> getPrincipalVariation() //From the deepest search that finished
+    {
+        return this.principalVariation;
+    }
+
+    public int getCompletedDepth() //Deepest search the last call to execute finished
+    {
+        return this.completedDepth;
+    }
+
+    @Override
+    public Moves execute(final Board board, final int depth) //depth is the deepest it will go even if there is time left
+    {
+        final long startTime = System.nanoTime();
+        final long budget = this.searchTimeMillis * 1000000L;
+
+        this.alphaBeta.setDeadline(startTime + budget);
+        this.alphaBeta.newSearch(); //Once, each depth keeps the shallower ones' results
+
+        Moves bestMove = null;
+        this.completedDepth = 0;
+        this.principalVariation = Collections.emptyList();
+
+        for (int currentDepth = 1; currentDepth <= depth; currentDepth++)
+        {
+            final Moves move = this.alphaBeta.search(board, currentDepth, Integer.MIN_VALUE, Integer.MAX_VALUE);
+
+            if (this.alphaBeta.isTimedOut()) //Unfinished, keep the last finished search's move
+            {
+                if (bestMove == null) //Not even depth 1 finished, only a legal move, not a searched one
+                {
+                    bestMove = move;
+                }
+                break;
+            }
+
+            bestMove = move;
+            this.completedDepth = currentDepth;
+            this.principalVariation = this.alphaBeta.getPrincipalVariation();
+
+            if (bestMove == null || System.nanoTime() - startTime > budget / 2) //No legal moves, or the next depth would take several times as long as all of these
+            {
+                break;
+            }
+        }
+
+        System.out.println(this + " finished depth " + this.completedDepth + " in " + (System.nanoTime() - startTime) / 1000000 + " ms");
+
+        return bestMove;
+    }
+}
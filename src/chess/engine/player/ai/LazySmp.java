@@ -0,0 +1,279 @@
+package chess.engine.player.ai;
+
+import chess.engine.board.Board;
+import chess.engine.board.Moves;
+import chess.engine.perft.PerftSuite;
+import com.google.common.collect.ImmutableList;
+
+import java.util.Collections;
+import java.util.List;
+
+//AlphaBeta on several threads at once, sharing one TranspositionTable. The calling thread searches depth 1, 2, 3... up to
+//the requested depth, same as it would alone, and its move is the one played. The helper threads search the same root
+//position, half of them a ply deeper than the main search, purely to fill the table: the main search then answers much of
+//its tree from their results and reaches each depth sooner. Nothing is shared but the table, which needs no locking
+//The threads only live for one call to execute, a new search starts new ones
+//With a time budget the main search stops at the deadline like IterativeDeepening, and the helpers are stopped with it.
+//With aspiration windows each of its depths is searched the way PrincipalVariationSearch does
+
+public class LazySmp implements MoveStrategy
+{
+    private final AlphaBeta mainSearch;
+    private final List<AlphaBeta> helpers;
+    private final List<AlphaBeta> searches; //Main search first
+    private volatile int mainDepth; //Depth the main search is on, helpers skip ahead to it
+    private volatile boolean finished;
+    private long[] helperNodes; //Written by each helper before its thread ends
+    private List<Moves> principalVariation;
+    private int completedDepth;
+    private long searchTimeMillis; //0 to search to the depth asked for however long it takes
+    private PrincipalVariationSearch aspirationSearch; //Around the main search, null without aspiration windows
+    private boolean quiet;
+
+    public LazySmp(final int numThreads)
+    {
+        this(numThreads, new TranspositionTable(TranspositionTable.DEFAULT_SIZE_MB));
+    }
+
+    public LazySmp(final int numThreads, final TranspositionTable transpositionTable) //numThreads counts the calling thread
+    {
+        if (numThreads < 1)
+        {
+            throw new RuntimeException("LazySmp needs at least one thread, got " + numThreads);
+        }
+
+        final ImmutableList.Builder<AlphaBeta> helpers = ImmutableList.builder();
+        for (int i = 1; i < numThreads; i++)
+        {
+            final AlphaBeta helper = new AlphaBeta(transpositionTable); //Each with its own move ordering, so their trees drift apart
+            helper.setQuiet(true);
+            helpers.add(helper);
+        }
+
+        this.mainSearch = new AlphaBeta(transpositionTable);
+        this.helpers = helpers.build();
+        this.searches = ImmutableList.<AlphaBeta>builder().add(this.mainSearch).addAll(this.helpers).build();
+        this.helperNodes = new long[this.helpers.size()];
+        this.principalVariation = Collections.emptyList();
+    }
+
+    @Override
+    public String toString()
+    {
+        return "LazySmp";
+    }
+
+    public List<AlphaBeta> getSearches() //One per thread, the main search first, e.g. to turn their prunings on
+    {
+        return this.searches;
+    }
+
+    public int getNumThreads()
+    {
+        return this.searches.size();
+    }
+
+    public AlphaBeta getMainSearch()
+    {
+        return this.mainSearch;
+    }
+
+    public long getHelperNodes() //Nodes the helpers searched during the last call to execute, quiescence ones included
+    {
+        long nodes = 0;
+        for (final long helperNodes : this.helperNodes)
+        {
+            nodes += helperNodes;
+        }
+        return nodes;
+    }
+
+    public void setSearchTime(final long searchTimeMillis) //Off by default. Stops at whichever comes first, the time or the depth passed to execute
+    {
+        this.searchTimeMillis = searchTimeMillis;
+    }
+
+    public void setAspirationWindows(final boolean aspirationWindows) //Off by default, see PrincipalVariationSearch
+    {
+        this.aspirationSearch = aspirationWindows ? new PrincipalVariationSearch(this.mainSearch) : null;
+    }
+
+    public int getCompletedDepth() //Deepest search of the main thread the last call to execute finished
+    {
+        return this.completedDepth;
+    }
+
+    public void setQuiet(final boolean quiet) //Doesn't print what each depth of the main search found
+    {
+        this.quiet = quiet;
+        this.mainSearch.setQuiet(quiet);
+    }
+
+    @Override
+    public List<Moves> getPrincipalVariation()
+    {
+        return this.principalVariation;
+    }
+
+    @Override
+    public Moves execute(final Board board, final int depth)
+    {
+        final long startTime = System.nanoTime();
+        final long budget = this.searchTimeMillis * 1000000L;
+        if (this.searchTimeMillis > 0)
+        {
+            this.mainSearch.setDeadline(startTime + budget);
+        }
+        else
+        {
+            this.mainSearch.clearDeadline(); //In case an earlier search on this instance had one
+        }
+
+        this.mainDepth = 1;
+        this.completedDepth = 0;
+        this.principalVariation = Collections.emptyList();
+        this.finished = false;
+        this.helperNodes = new long[this.helpers.size()];
+
+        this.mainSearch.newSearch(); //Before the helpers start, and only once, the table is shared by all of them
+
+        final Thread[] threads = new Thread[this.helpers.size()];
+        for (int i = 0; i < threads.length; i++)
+        {
+            threads[i] = new Thread(new Helper(i, board, depth), "LazySmp helper " + (i + 1));
+            threads[i].setDaemon(true);
+            this.helpers.get(i).setStopped(false);
+            threads[i].start();
+        }
+
+        Moves bestMove = null;
+        try
+        {
+            for (int currentDepth = 1; currentDepth <= depth; currentDepth++)
+            {
+                this.mainDepth = currentDepth;
+                final Moves move = this.aspirationSearch != null ? this.aspirationSearch.searchDepth(board, currentDepth)
+                                                                 : this.mainSearch.search(board, currentDepth, Integer.MIN_VALUE, Integer.MAX_VALUE);
+
+                if (this.mainSearch.isTimedOut()) //Unfinished, keep the last finished search's move
+                {
+                    if (bestMove == null) //Not even depth 1 finished, only a legal move, not a searched one
+                    {
+                        bestMove = move;
+                    }
+                    break;
+                }
+
+                bestMove = move;
+                this.completedDepth = currentDepth;
+                this.principalVariation = this.mainSearch.getPrincipalVariation();
+
+                if (bestMove == null || this.searchTimeMillis > 0 && System.nanoTime() - startTime > budget / 2) //No legal moves, or no time for another depth
+                {
+                    break;
+                }
+            }
+        }
+        finally
+        {
+            stopHelpers(threads);
+        }
+
+        if (!this.quiet)
+        {
+            System.out.println(this + " finished depth " + this.completedDepth + " on " + getNumThreads() + " threads in " + (System.nanoTime() - startTime) / 1000000 +
+                               " ms, helpers searched " + getHelperNodes() + " nodes");
+        }
+
+        return bestMove;
+    }
+
+    private void stopHelpers(final Thread[] threads) //Waits for them, so the next search doesn't start with the last one's still running
+    {
+        this.finished = true;
+        for (final AlphaBeta helper : this.helpers)
+        {
+            helper.setStopped(true);
+        }
+
+        for (final Thread thread : threads)
+        {
+            try
+            {
+                thread.join();
+            }
+            catch (final InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private final class Helper implements Runnable
+    {
+        private final int index;
+        private final Board board;
+        private final int maxDepth;
+
+        Helper(final int index, final Board board, final int maxDepth)
+        {
+            this.index = index;
+            this.board = board;
+            this.maxDepth = maxDepth;
+        }
+
+        @Override
+        public void run()
+        {
+            final AlphaBeta helper = helpers.get(this.index);
+            final int offset = this.index % 2; //Every other helper a ply ahead of the main search
+            long nodes = 0;
+
+            for (int depth = 1 + offset; depth <= this.maxDepth && !finished; depth = Math.max(depth + 1, mainDepth + offset))
+            {
+                helper.search(this.board, depth, Integer.MIN_VALUE, Integer.MAX_VALUE); //Never ages the table
+                nodes += helper.getNodesSearched() + helper.getQuiescenceNodes();
+            }
+
+            helperNodes[this.index] = nodes;
+        }
+    }
+
+    public static void main(final String[] args) //Depth, then the most threads to try, then table size in MB: times each suite position to that depth on 1, 2, 4... threads
+    {
+        final int depth = args.length > 0 ? Integer.parseInt(args[0]) : 6;
+        final int maxThreads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        final int sizeInMegabytes = args.length > 2 ? Integer.parseInt(args[2]) : 64;
+
+        for (final PerftSuite.PerftPosition position : PerftSuite.POSITIONS)
+        {
+            final LazySmp warmUp = new LazySmp(maxThreads, new TranspositionTable(sizeInMegabytes)); //Warms up the JIT, so the first timed search isn't the slow one
+            warmUp.setQuiet(true);
+            warmUp.execute(position.getBoard(), depth - 1);
+
+            long singleThreadTime = 0;
+            for (int threads = 1; ; threads = Math.min(threads * 2, maxThreads))
+            {
+                final LazySmp lazySmp = new LazySmp(threads, new TranspositionTable(sizeInMegabytes));
+                lazySmp.setQuiet(true);
+
+                final long startTime = System.nanoTime();
+                final Moves move = lazySmp.execute(position.getBoard(), depth);
+                final long time = System.nanoTime() - startTime;
+                if (threads == 1)
+                {
+                    singleThreadTime = time;
+                }
+
+                System.out.println(String.format("%-16s depth %d, %2d threads: %7d ms, %.2fx speedup, %s",
+                                                 position.getName(), depth, threads, time / 1000000,
+                                                 (double) singleThreadTime / Math.max(1, time), move));
+                if (threads == maxThreads)
+                {
+                    break;
+                }
+            }
+        }
+    }
+}
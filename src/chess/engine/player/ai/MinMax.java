@@ -1,18 +1,55 @@
 package chess.engine.player.ai;
 
 import chess.engine.board.Board;
+import chess.engine.board.CompactMove;
 import chess.engine.board.Moves;
-import chess.engine.player.MoveTransition;
+import chess.engine.board.SearchBoard;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
 
 //This is the MinMax algorithm used by the AI to choose the next move
+//The tree is searched on a single SearchBoard, making and unmaking moves in place, an immutable Board is only built for the evaluator
+//Every node's value is exact, so positions reached again are answered from the TranspositionTable
+//The root moves are searched in parallel on a ForkJoinPool, each subtree by a task with its own SearchBoard. Only values
+//stored at exactly the depth asked for are taken from the table, so a move's value doesn't depend on which other
+//subtrees happened to finish first, and ties go to the later move in generation order, same as searching them one by one
 
 public class MinMax implements  MoveStrategy
 {
-    private final BoardEvaluator boardEvaluator;
+    private BoardEvaluator boardEvaluator;
+    private final TranspositionTable transpositionTable;
+    private final ForkJoinPool pool;
+    private int[][] moveBuffers; //One move list per remaining depth, reused across the whole search of one root move
 
     public MinMax()
     {
-        this.boardEvaluator = new StandardBoardEvaluator();
+        this(new TranspositionTable(TranspositionTable.DEFAULT_SIZE_MB));
+    }
+
+    public MinMax(final TranspositionTable transpositionTable)
+    {
+        this(transpositionTable, ForkJoinPool.commonPool());
+    }
+
+    public MinMax(final TranspositionTable transpositionTable, final ForkJoinPool pool) //The pool the root moves are searched on, a pool of 1 searches them one at a time
+    {
+        this(transpositionTable, pool, new StandardBoardEvaluator());
+    }
+
+    private MinMax(final TranspositionTable transpositionTable, final ForkJoinPool pool, final BoardEvaluator boardEvaluator)
+    {
+        this.boardEvaluator = boardEvaluator;
+        this.transpositionTable = transpositionTable;
+        this.pool = pool;
+    }
+
+    public void setBoardEvaluator(final BoardEvaluator boardEvaluator) //StandardBoardEvaluator by default
+    {
+        this.boardEvaluator = boardEvaluator;
     }
 
     @Override
@@ -24,102 +61,180 @@ public class MinMax implements  MoveStrategy
     @Override
     public Moves execute(Board board, int depth)
     {
-        final long startTime = System.currentTimeMillis();
+        if (depth < 1) //Every root move is searched at least one ply
+        {
+            throw new RuntimeException("MinMax can't search to depth " + depth);
+        }
 
-        Moves bestMove = null;
+        final long startTime = System.currentTimeMillis();
 
-        int highestSeenValue = Integer.MIN_VALUE;
-        int lowestSeenValue = Integer.MAX_VALUE;
-        int currentValue;
+        final SearchBoard searchBoard = new SearchBoard(board);
+        this.transpositionTable.newSearch();
 
         System.out.println(board.currentPlayer() + " Thinking with depth = " + depth);
 
-        int numMoves = board.currentPlayer().getLegalMoves().size();
+        final int[] moves = new int[SearchBoard.MAX_MOVES];
+        final int numMoves = searchBoard.generateMoves(moves);
+        final List<RootMoveTask> tasks = new ArrayList<>();
 
-        for (final Moves move : board.currentPlayer().getLegalMoves()) //Search through the current player's moves
+        for (int i = 0; i < numMoves; i++) //Search through the current player's moves
         {
-            final MoveTransition moveTransition = board.currentPlayer().makeMove(move);
+            if (searchBoard.makeMove(moves[i]))
+            {
+                searchBoard.unmakeMove();
+                tasks.add(new RootMoveTask(board, moves[i], depth));
+            }
+        }
 
-            if (moveTransition.getMoveStatus().isDone())
+        this.pool.invoke(new RecursiveAction()
+        {
+            @Override
+            protected void compute()
             {
-                currentValue = board.currentPlayer().getColor().isWhite() ? min(moveTransition.getTransitionBoard(), depth - 1)
-                                                                          : max(moveTransition.getTransitionBoard(), depth - 1);
+                invokeAll(tasks);
+            }
+        });
 
-                if (board.currentPlayer().getColor().isWhite() && currentValue >= highestSeenValue) //Found a new highest seen value move
-                {
-                    highestSeenValue = currentValue;
-                    bestMove = move;
-                }
-                else if (board.currentPlayer().getColor().isBlack() && currentValue <= lowestSeenValue) //Found a new lowest seen value move
-                {
-                    lowestSeenValue = currentValue;
-                    bestMove = move;
-                }
+        final boolean isWhite = board.currentPlayer().getColor().isWhite();
+        int bestMove = CompactMove.NO_MOVE;
+        int bestValue = isWhite ? Integer.MIN_VALUE : Integer.MAX_VALUE;
+
+        for (final RootMoveTask task : tasks) //In generation order, so the same move wins a tie however the tasks were scheduled
+        {
+            final int currentValue = task.join();
+
+            if (isWhite ? currentValue >= bestValue : currentValue <= bestValue) //Found a new highest, or lowest, seen value move
+            {
+                bestValue = currentValue;
+                bestMove = task.move;
             }
         }
 
         final long executionTime = System.currentTimeMillis() - startTime;
+        System.out.println(this + " searched " + tasks.size() + " root moves on " + this.pool.getParallelism() + " threads in " + executionTime + " ms");
 
-        return bestMove;
+        if (bestMove == CompactMove.NO_MOVE)
+        {
+            return null;
+        }
+
+        return CompactMove.toMove(board, bestMove);
     }
 
-    public int min(final Board board, final int depth) //min finds the 'worst' move
+    private int searchRootMove(final Board board, final int move, final int depth) //Value of board after move, searched to depth in all
     {
-        if (depth == 0 || isEndGameScenario(board)) //Done searching
+        final SearchBoard searchBoard = new SearchBoard(board);
+        this.moveBuffers = new int[depth][SearchBoard.MAX_MOVES];
+
+        searchBoard.makeMove(move);
+        return board.currentPlayer().getColor().isWhite() ? min(searchBoard, depth - 1) : max(searchBoard, depth - 1);
+    }
+
+    public int min(final SearchBoard board, final int depth) //min finds the 'worst' move
+    {
+        if (depth == 0) //Done searching
         {
             return this.boardEvaluator.evaluate(board, depth);
         }
 
+        final long entry = this.transpositionTable.probe(board.getZobristKey());
+        if (TranspositionTable.getBound(entry) == TranspositionTable.EXACT && TranspositionTable.getDepth(entry) == depth) //Only exact values, the table may be shared with AlphaBeta, and only of this depth, see above
+        {
+            return TranspositionTable.getScore(entry);
+        }
+
         int lowestSeenValue = Integer.MAX_VALUE;
+        int bestMove = CompactMove.NO_MOVE;
 
-        for (final Moves move : board.currentPlayer().getLegalMoves())
-        {
-            final MoveTransition moveTransition = board.currentPlayer().makeMove(move);
+        final int[] moves = this.moveBuffers[depth];
+        final int numMoves = board.generateMoves(moves);
 
-            if (moveTransition.getMoveStatus().isDone())
+        for (int i = 0; i < numMoves; i++)
+        {
+            if (board.makeMove(moves[i]))
             {
-                final int currentValue = max(moveTransition.getTransitionBoard(), depth - 1); //Call to max
+                final int currentValue = max(board, depth - 1); //Call to max
+                board.unmakeMove();
 
                 if (currentValue <= lowestSeenValue)
                 {
                     lowestSeenValue = currentValue;
+                    bestMove = moves[i];
                 }
             }
         }
+
+        if (bestMove == CompactMove.NO_MOVE) //Checkmate or stalemate, found without a separate look for a legal move first
+        {
+            return this.boardEvaluator.evaluate(board, depth);
+        }
+
+        this.transpositionTable.store(board.getZobristKey(), bestMove, lowestSeenValue, depth, TranspositionTable.EXACT);
         return lowestSeenValue;
     }
 
-    public int max(final Board board, final int depth) //max finds the 'best' move
+    public int max(final SearchBoard board, final int depth) //max finds the 'best' move
     {
-        if (depth == 0 || isEndGameScenario(board)) //Done searching
+        if (depth == 0) //Done searching
         {
             return this.boardEvaluator.evaluate(board, depth);
         }
 
-        int highestSeenValue = Integer.MAX_VALUE;
-
-        for (final Moves move : board.currentPlayer().getLegalMoves())
+        final long entry = this.transpositionTable.probe(board.getZobristKey());
+        if (TranspositionTable.getBound(entry) == TranspositionTable.EXACT && TranspositionTable.getDepth(entry) == depth) //Only exact values, the table may be shared with AlphaBeta, and only of this depth, see above
         {
-            final MoveTransition moveTransition = board.currentPlayer().makeMove(move);
+            return TranspositionTable.getScore(entry);
+        }
+
+        int highestSeenValue = Integer.MIN_VALUE;
+        int bestMove = CompactMove.NO_MOVE;
+
+        final int[] moves = this.moveBuffers[depth];
+        final int numMoves = board.generateMoves(moves);
 
-            if (moveTransition.getMoveStatus().isDone())
+        for (int i = 0; i < numMoves; i++)
+        {
+            if (board.makeMove(moves[i]))
             {
-                final int currentValue = min(moveTransition.getTransitionBoard(), depth - 1); //Call to min
+                final int currentValue = min(board, depth - 1); //Call to min
+                board.unmakeMove();
 
                 if (currentValue >= highestSeenValue)
                 {
                     highestSeenValue = currentValue;
+                    bestMove = moves[i];
                 }
             }
         }
 
+        if (bestMove == CompactMove.NO_MOVE) //Checkmate or stalemate, found without a separate look for a legal move first
+        {
+            return this.boardEvaluator.evaluate(board, depth);
+        }
+
+        this.transpositionTable.store(board.getZobristKey(), bestMove, highestSeenValue, depth, TranspositionTable.EXACT);
         return highestSeenValue;
     }
 
-    private boolean isEndGameScenario(Board board) //If game over by stalemate or checkmate
+    private final class RootMoveTask extends RecursiveTask<Integer>
     {
-        return board.currentPlayer().isInCheckMate() || board.currentPlayer().isInStalemate();
-    }
+        private static final long serialVersionUID = 1L;
 
+        private final Board board;
+        private final int move;
+        private final int depth;
+
+        RootMoveTask(final Board board, final int move, final int depth)
+        {
+            this.board = board;
+            this.move = move;
+            this.depth = depth;
+        }
 
+        @Override
+        protected Integer compute() //On a MinMax of its own, since the move buffers can't be shared between threads
+        {
+            return new MinMax(transpositionTable, pool, boardEvaluator).searchRootMove(this.board, this.move, this.depth); //Evaluators are shared, they are thread safe
+        }
+    }
 }
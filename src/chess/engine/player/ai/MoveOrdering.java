@@ -0,0 +1,121 @@
+package chess.engine.player.ai;
+
+import chess.engine.board.CompactMove;
+import chess.engine.board.SearchBoard;
+import chess.engine.pieces.Piece;
+
+import static chess.engine.board.BoardUtils.NUM_TILES;
+
+//What a search has learnt about which moves are good, for its MovePickers to try those first:
+//captures go by most valuable victim, then least valuable attacker (MVV-LVA), quiet moves that caused a cut-off
+//are kept as killers for their ply and are credited in a from/to history table. One per search thread
+
+public final class MoveOrdering
+{
+    public static final int MAX_PLY = 128; //Deepest ply a picker can be asked for
+
+    private static final int NUM_KILLERS = 2;
+    private static final int MAX_HISTORY = 1 << 20; //Past this the whole table is halved, so old cut-offs fade
+
+    private final MovePicker[] pickers;
+    private final int[][] killers;
+    private final int[][] history;
+
+    public MoveOrdering()
+    {
+        this.pickers = new MovePicker[MAX_PLY];
+        this.killers = new int[MAX_PLY][NUM_KILLERS];
+        this.history = new int[NUM_TILES][NUM_TILES];
+
+        for (int ply = 0; ply < MAX_PLY; ply++)
+        {
+            this.pickers[ply] = new MovePicker(this, ply);
+        }
+    }
+
+    public MovePicker getPicker(final int ply) //Each ply has its own, so a parent's picker is still intact when its child's is done
+    {
+        return this.pickers[ply];
+    }
+
+    public void newSearch() //Killers belong to the last position searched, history is kept but counts for less
+    {
+        for (final int[] plyKillers : this.killers)
+        {
+            plyKillers[0] = CompactMove.NO_MOVE;
+            plyKillers[1] = CompactMove.NO_MOVE;
+        }
+        ageHistory();
+    }
+
+    public void recordCutOff(final int move, final int ply, final int depth) //Only quiet moves are remembered, captures are ordered well enough already
+    {
+        if (CompactMove.isAttack(move) || CompactMove.isPromotion(move))
+        {
+            return;
+        }
+
+        final int[] plyKillers = this.killers[ply];
+        if (plyKillers[0] != move)
+        {
+            plyKillers[1] = plyKillers[0];
+            plyKillers[0] = move;
+        }
+
+        final int from = CompactMove.getCurrentCoordinate(move);
+        final int to = CompactMove.getDestination(move);
+        this.history[from][to] += depth * depth; //Cut-offs far from the leaves save the most work
+        if (this.history[from][to] > MAX_HISTORY)
+        {
+            ageHistory();
+        }
+    }
+
+    public int getKiller(final int ply, final int slot)
+    {
+        return this.killers[ply][slot];
+    }
+
+    public int getHistory(final int move)
+    {
+        return this.history[CompactMove.getCurrentCoordinate(move)][CompactMove.getDestination(move)];
+    }
+
+    public static int getCaptureScore(final SearchBoard board, final int move) //MVV-LVA, negative for a capture that loses material once the recaptures are played out
+    {
+        final int attackerValue = board.getPieceType(CompactMove.getCurrentCoordinate(move)).getPieceValue();
+        final int victimValue = getVictimValue(board, move);
+        final int promotionValue = CompactMove.isPromotion(move) ? CompactMove.getPromotionType(move).getPieceValue() : 0;
+        final int score = (victimValue + promotionValue) * 100 - attackerValue; //The victim always outweighs the attacker
+
+        final boolean losesMaterial = attackerValue > victimValue && promotionValue == 0 && board.staticExchange(move) < 0; //Taking something worth as much can't lose, so SEE is skipped
+        return losesMaterial ? score - MovePicker.BAD_CAPTURE_PENALTY : score;
+    }
+
+    public static int getMaterialGain(final SearchBoard board, final int move) //Most the move can win, if nothing is lost in return
+    {
+        final int promotionGain = CompactMove.isPromotion(move) ? CompactMove.getPromotionType(move).getPieceValue() - Piece.PieceType.PAWN.getPieceValue() : 0;
+        return getVictimValue(board, move) + promotionGain;
+    }
+
+    private static int getVictimValue(final SearchBoard board, final int move)
+    {
+        if (CompactMove.getFlags(move) == CompactMove.EN_PASSANT)
+        {
+            return Piece.PieceType.PAWN.getPieceValue();
+        }
+
+        return CompactMove.isAttack(move) ? board.getPieceType(CompactMove.getDestination(move)).getPieceValue() : 0; //A promotion might not capture
+    }
+
+    private void ageHistory()
+    {
+        for (final int[] fromHistory : this.history)
+        {
+            for (int to = 0; to < NUM_TILES; to++)
+            {
+                fromHistory[to] >>= 1;
+            }
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package chess.engine.player.ai;
+
+import chess.engine.board.CompactMove;
+import chess.engine.board.SearchBoard;
+
+//Hands out one node's moves best first, in stages: the hash move, captures that don't lose material (by SEE) by MVV-LVA,
+//the killer moves, quiet moves by history, then the remaining captures. Each stage is only generated once the
+//ones before it are used up, so a node that cuts off on the hash move or a capture never generates its quiet moves.
+//Moves are pseudo-legal, same as SearchBoard.generateMoves, and each is handed out once.
+//resetCaptures hands out only the captures that don't lose material, best first, for the quiescence search
+
+public final class MovePicker
+{
+    static final int BAD_CAPTURE_PENALTY = 1 << 24; //Sends captures that lose material below every other capture
+
+    private static final int HASH_MOVE = 0; //Stages, in the order they are tried
+    private static final int GENERATE_CAPTURES = 1;
+    private static final int GOOD_CAPTURES = 2;
+    private static final int FIRST_KILLER = 3;
+    private static final int SECOND_KILLER = 4;
+    private static final int GENERATE_QUIET_MOVES = 5;
+    private static final int QUIET_MOVES = 6;
+    private static final int BAD_CAPTURES = 7;
+    private static final int DONE = 8;
+
+    private final MoveOrdering moveOrdering;
+    private final int ply;
+    private final int[] moves; //Captures first, then the quiet moves after them
+    private final int[] scores;
+    private final int[] quietMoves;
+
+    private SearchBoard board;
+    private int hashMove;
+    private int firstKiller;
+    private int secondKiller;
+    private int stage;
+    private int numCaptures;
+    private int numQuietMoves;
+    private int index; //Next unsorted move of the current stage
+    private boolean capturesOnly;
+
+    MovePicker(final MoveOrdering moveOrdering, final int ply)
+    {
+        this.moveOrdering = moveOrdering;
+        this.ply = ply;
+        this.moves = new int[SearchBoard.MAX_MOVES];
+        this.scores = new int[SearchBoard.MAX_MOVES];
+        this.quietMoves = new int[SearchBoard.MAX_MOVES];
+    }
+
+    public void reset(final SearchBoard board, final int hashMove) //Starts handing out the moves of board's current position
+    {
+        this.board = board;
+        this.hashMove = board.isPseudoLegal(hashMove) ? hashMove : CompactMove.NO_MOVE; //A key collision can store a move from another position
+        this.firstKiller = this.moveOrdering.getKiller(this.ply, 0);
+        this.secondKiller = this.moveOrdering.getKiller(this.ply, 1);
+        this.capturesOnly = false;
+        this.stage = HASH_MOVE;
+    }
+
+    public void resetCaptures(final SearchBoard board) //Starts handing out only the winning and even captures of board's current position
+    {
+        this.board = board;
+        this.hashMove = CompactMove.NO_MOVE;
+        this.capturesOnly = true;
+        this.stage = GENERATE_CAPTURES;
+    }
+
+    public int next() //CompactMove.NO_MOVE once every move has been handed out
+    {
+        while (true)
+        {
+            switch (this.stage)
+            {
+                case HASH_MOVE:
+                    this.stage = GENERATE_CAPTURES;
+                    if (this.hashMove != CompactMove.NO_MOVE)
+                    {
+                        return this.hashMove;
+                    }
+                    break;
+
+                case GENERATE_CAPTURES:
+                    this.numCaptures = this.board.generateCaptures(this.moves);
+                    for (int i = 0; i < this.numCaptures; i++)
+                    {
+                        this.scores[i] = MoveOrdering.getCaptureScore(this.board, this.moves[i]);
+                    }
+                    this.index = 0;
+                    this.stage = GOOD_CAPTURES;
+                    break;
+
+                case GOOD_CAPTURES:
+                    if (this.index < this.numCaptures && selectBest(this.moves, this.numCaptures) >= 0)
+                    {
+                        final int move = this.moves[this.index++];
+                        if (move != this.hashMove)
+                        {
+                            return move;
+                        }
+                        break;
+                    }
+                    this.stage = this.capturesOnly ? DONE : FIRST_KILLER; //The captures left from index on all lose material
+                    break;
+
+                case FIRST_KILLER:
+                    this.stage = SECOND_KILLER;
+                    if (isUsableKiller(this.firstKiller))
+                    {
+                        return this.firstKiller;
+                    }
+                    break;
+
+                case SECOND_KILLER:
+                    this.stage = GENERATE_QUIET_MOVES;
+                    if (this.secondKiller != this.firstKiller && isUsableKiller(this.secondKiller))
+                    {
+                        return this.secondKiller;
+                    }
+                    break;
+
+                case GENERATE_QUIET_MOVES:
+                    this.numQuietMoves = this.board.generateQuietMoves(this.quietMoves);
+                    this.stage = QUIET_MOVES;
+                    break;
+
+                case QUIET_MOVES:
+                    if (this.numQuietMoves > 0)
+                    {
+                        final int move = takeBestQuietMove();
+                        if (move != this.hashMove && move != this.firstKiller && move != this.secondKiller)
+                        {
+                            return move;
+                        }
+                        break;
+                    }
+                    this.stage = BAD_CAPTURES;
+                    break;
+
+                case BAD_CAPTURES:
+                    if (this.index < this.numCaptures)
+                    {
+                        selectBest(this.moves, this.numCaptures);
+                        final int move = this.moves[this.index++];
+                        if (move != this.hashMove)
+                        {
+                            return move;
+                        }
+                        break;
+                    }
+                    this.stage = DONE;
+                    break;
+
+                default:
+                    return CompactMove.NO_MOVE;
+            }
+        }
+    }
+
+    private boolean isUsableKiller(final int killer) //Killers come from sibling positions, so they have to be checked
+    {
+        return killer != CompactMove.NO_MOVE && killer != this.hashMove && this.board.isPseudoLegal(killer);
+    }
+
+    private int selectBest(final int[] moves, final int count) //Swaps the highest scored move from index on to index, returns its score
+    {
+        int best = this.index;
+        for (int i = this.index + 1; i < count; i++)
+        {
+            if (this.scores[i] > this.scores[best])
+            {
+                best = i;
+            }
+        }
+
+        swap(moves, this.index, best);
+        swap(this.scores, this.index, best);
+
+        return this.scores[this.index];
+    }
+
+    private int takeBestQuietMove() //Removes and returns the quiet move with the most history, most nodes cut off long before the last one
+    {
+        int best = 0;
+        int bestHistory = this.moveOrdering.getHistory(this.quietMoves[0]);
+        for (int i = 1; i < this.numQuietMoves; i++)
+        {
+            final int history = this.moveOrdering.getHistory(this.quietMoves[i]);
+            if (history > bestHistory)
+            {
+                best = i;
+                bestHistory = history;
+            }
+        }
+
+        final int move = this.quietMoves[best];
+        this.quietMoves[best] = this.quietMoves[--this.numQuietMoves];
+        return move;
+    }
+
+    private static void swap(final int[] values, final int i, final int j)
+    {
+        final int value = values[i];
+        values[i] = values[j];
+        values[j] = value;
+    }
+}
@@ -3,9 +3,17 @@ package chess.engine.player.ai;
 import chess.engine.board.Board;
 import chess.engine.board.Moves;
 
+import java.util.Collections;
+import java.util.List;
+
 //Implemented by MinMax
 
 public interface MoveStrategy
 {
     Moves execute(Board board, int depth);
+
+    default List<Moves> getPrincipalVariation() //The line the last call to execute expects to be played, starting with its move. Empty if the strategy doesn't keep one
+    {
+        return Collections.emptyList();
+    }
 }
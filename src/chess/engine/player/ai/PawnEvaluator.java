@@ -0,0 +1,171 @@
+package chess.engine.player.ai;
+
+import chess.engine.Color;
+import chess.engine.board.Board;
+import chess.engine.board.SearchBoard;
+import chess.engine.board.Zobrist;
+import chess.engine.pieces.Piece;
+
+import static chess.engine.board.BoardUtils.NUM_TILES;
+import static chess.engine.board.BoardUtils.NUM_TILES_PER_ROW;
+
+//Scores the pawn structure, white minus black: doubled, isolated and backward pawns cost points, passed pawns earn more
+//the further they are advanced. Depends on nothing but the pawns, so scores are cached in a PawnHashTable by the pawns' key
+
+public final class PawnEvaluator
+{
+    private static final int DOUBLED_PENALTY = 10; //For each pawn on a file after the first
+    private static final int ISOLATED_PENALTY = 15; //No friendly pawns on either neighbouring file
+    private static final int BACKWARD_PENALTY = 8; //Can't be defended by a pawn and can't safely advance either
+    private static final int[] PASSED_BONUS = {0, 10, 15, 25, 40, 65, 100, 0}; //By rows advanced from the starting row's side
+
+    private static final int WHITE = 0;
+    private static final int BLACK = 1;
+    private static final long FILE_A = 0x0101010101010101L;
+    private static final long FILE_H = FILE_A << (NUM_TILES_PER_ROW - 1);
+    private static final long[] FILES = initFiles();
+    private static final long[] ADJACENT_FILES = initAdjacentFiles();
+    private static final long[][] PASSED_MASKS = initPassedMasks(); //[side][tile], enemy pawns that can stop a pawn on tile
+    private static final long[][] SUPPORT_MASKS = initSupportMasks(); //[side][tile], friendly pawns that could still defend a pawn on tile
+
+    private final PawnHashTable pawnHashTable;
+
+    public PawnEvaluator()
+    {
+        this(new PawnHashTable(PawnHashTable.DEFAULT_SIZE_MB));
+    }
+
+    public PawnEvaluator(final PawnHashTable pawnHashTable)
+    {
+        this.pawnHashTable = pawnHashTable;
+    }
+
+    public PawnHashTable getPawnHashTable()
+    {
+        return this.pawnHashTable;
+    }
+
+    public int evaluate(final Board board)
+    {
+        final long whitePawns = board.getBitBoard().getPieces(Piece.PieceType.PAWN, Color.WHITE);
+        final long blackPawns = board.getBitBoard().getPieces(Piece.PieceType.PAWN, Color.BLACK);
+        return evaluate(whitePawns, blackPawns, Zobrist.pawnKey(whitePawns, blackPawns));
+    }
+
+    public int evaluate(final SearchBoard board) //Uses the key the SearchBoard keeps up to date
+    {
+        return evaluate(board.getPieces(Piece.PieceType.PAWN, Color.WHITE), board.getPieces(Piece.PieceType.PAWN, Color.BLACK), board.getPawnKey());
+    }
+
+    private int evaluate(final long whitePawns, final long blackPawns, final long pawnKey)
+    {
+        final long entry = this.pawnHashTable.probe(pawnKey);
+        if (entry != PawnHashTable.NO_ENTRY)
+        {
+            return PawnHashTable.getScore(entry);
+        }
+
+        final int score = scorePawns(whitePawns, blackPawns);
+        this.pawnHashTable.store(pawnKey, score);
+        return score;
+    }
+
+    public static int scorePawns(final long whitePawns, final long blackPawns) //Worked out from scratch, without the table
+    {
+        final long whiteAttacks = ((whitePawns & ~FILE_A) >>> 9) | ((whitePawns & ~FILE_H) >>> 7); //White pawns capture towards row 0
+        final long blackAttacks = ((blackPawns & ~FILE_A) << 7) | ((blackPawns & ~FILE_H) << 9);
+
+        return scoreSide(WHITE, whitePawns, blackPawns, blackAttacks) - scoreSide(BLACK, blackPawns, whitePawns, whiteAttacks);
+    }
+
+    private static int scoreSide(final int side, final long pawns, final long enemyPawns, final long enemyAttacks)
+    {
+        int score = 0;
+
+        for (int file = 0; file < NUM_TILES_PER_ROW; file++)
+        {
+            score -= DOUBLED_PENALTY * Math.max(0, Long.bitCount(pawns & FILES[file]) - 1);
+        }
+
+        for (long remaining = pawns; remaining != 0; remaining &= remaining - 1)
+        {
+            final int tile = Long.numberOfTrailingZeros(remaining);
+            final int row = tile / NUM_TILES_PER_ROW;
+
+            if ((enemyPawns & PASSED_MASKS[side][tile]) == 0)
+            {
+                score += PASSED_BONUS[side == WHITE ? NUM_TILES_PER_ROW - 1 - row : row];
+            }
+
+            if ((pawns & ADJACENT_FILES[tile % NUM_TILES_PER_ROW]) == 0)
+            {
+                score -= ISOLATED_PENALTY;
+            }
+            else if ((pawns & SUPPORT_MASKS[side][tile]) == 0 && (enemyAttacks & (1L << stopTile(side, tile))) != 0)
+            {
+                score -= BACKWARD_PENALTY;
+            }
+        }
+
+        return score;
+    }
+
+    private static int stopTile(final int side, final int tile) //The tile in front of a pawn, pawns never stand on the last row
+    {
+        return side == WHITE ? tile - NUM_TILES_PER_ROW : tile + NUM_TILES_PER_ROW;
+    }
+
+    private static long[] initFiles()
+    {
+        final long[] files = new long[NUM_TILES_PER_ROW];
+        for (int file = 0; file < NUM_TILES_PER_ROW; file++)
+        {
+            files[file] = FILE_A << file;
+        }
+        return files;
+    }
+
+    private static long[] initAdjacentFiles()
+    {
+        final long[] adjacentFiles = new long[NUM_TILES_PER_ROW];
+        for (int file = 0; file < NUM_TILES_PER_ROW; file++)
+        {
+            adjacentFiles[file] = (file > 0 ? FILES[file - 1] : 0L) | (file < NUM_TILES_PER_ROW - 1 ? FILES[file + 1] : 0L);
+        }
+        return adjacentFiles;
+    }
+
+    private static long[][] initPassedMasks() //Same and neighbouring files, rows ahead of the pawn
+    {
+        final long[][] masks = new long[2][NUM_TILES];
+        for (int tile = 0; tile < NUM_TILES; tile++)
+        {
+            final long files = FILES[tile % NUM_TILES_PER_ROW] | ADJACENT_FILES[tile % NUM_TILES_PER_ROW];
+            masks[WHITE][tile] = files & rowsBetween(0, tile / NUM_TILES_PER_ROW - 1);
+            masks[BLACK][tile] = files & rowsBetween(tile / NUM_TILES_PER_ROW + 1, NUM_TILES_PER_ROW - 1);
+        }
+        return masks;
+    }
+
+    private static long[][] initSupportMasks() //Neighbouring files, the pawn's own row and the rows behind it
+    {
+        final long[][] masks = new long[2][NUM_TILES];
+        for (int tile = 0; tile < NUM_TILES; tile++)
+        {
+            final long files = ADJACENT_FILES[tile % NUM_TILES_PER_ROW];
+            masks[WHITE][tile] = files & rowsBetween(tile / NUM_TILES_PER_ROW, NUM_TILES_PER_ROW - 1);
+            masks[BLACK][tile] = files & rowsBetween(0, tile / NUM_TILES_PER_ROW);
+        }
+        return masks;
+    }
+
+    private static long rowsBetween(final int firstRow, final int lastRow) //Every tile of rows firstRow to lastRow, empty if lastRow comes first
+    {
+        long rows = 0L;
+        for (int row = firstRow; row <= lastRow; row++)
+        {
+            rows |= 0xFFL << (row * NUM_TILES_PER_ROW);
+        }
+        return rows;
+    }
+}
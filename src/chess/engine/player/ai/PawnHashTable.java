@@ -0,0 +1,92 @@
+package chess.engine.player.ai;
+
+import java.util.concurrent.atomic.LongAdder;
+
+//Remembers pawn structure scores, keyed by Zobrist.pawnKey. The pawns change far less often than the rest of the
+//position, so most leaves find their pawns' score here instead of working it out again. Same layout as the
+//TranspositionTable: two longs per entry with the key XORed with the data, so threads can share it without locking
+
+public final class PawnHashTable
+{
+    public static final int DEFAULT_SIZE_MB = 1;
+    public static final long NO_ENTRY = 0L;
+
+    private static final int BYTES_PER_ENTRY = 2 * Long.BYTES;
+    private static final long VALID = 1L << 32; //Set in every stored entry, so none is NO_ENTRY
+
+    private final long[] keys;
+    private final long[] data;
+    private final int mask;
+
+    private final LongAdder hits;
+    private final LongAdder misses;
+
+    public PawnHashTable(final int sizeInMegabytes)
+    {
+        final long maxEntries = Math.max(1L, (long) sizeInMegabytes * 1024 * 1024 / BYTES_PER_ENTRY);
+        final int numEntries = Integer.highestOneBit((int) Math.min(maxEntries, 1 << 30));
+
+        this.keys = new long[numEntries];
+        this.data = new long[numEntries];
+        this.mask = numEntries - 1;
+        this.hits = new LongAdder();
+        this.misses = new LongAdder();
+    }
+
+    public static int getScore(final long entry)
+    {
+        return (int) entry;
+    }
+
+    public long probe(final long pawnKey) //The entry for these pawns, or NO_ENTRY
+    {
+        final int index = (int) pawnKey & this.mask;
+        final long entry = this.data[index];
+
+        if ((this.keys[index] ^ entry) == pawnKey && entry != NO_ENTRY)
+        {
+            this.hits.increment();
+            return entry;
+        }
+
+        this.misses.increment();
+        return NO_ENTRY;
+    }
+
+    public void store(final long pawnKey, final int score) //Always replaces whatever was in the slot
+    {
+        final int index = (int) pawnKey & this.mask;
+        final long entry = VALID | (score & 0xFFFFFFFFL);
+
+        this.data[index] = entry;
+        this.keys[index] = pawnKey ^ entry;
+    }
+
+    public int size() //Number of entries
+    {
+        return this.data.length;
+    }
+
+    public long getHits()
+    {
+        return this.hits.sum();
+    }
+
+    public long getMisses()
+    {
+        return this.misses.sum();
+    }
+
+    public double getHitRate()
+    {
+        final long hits = getHits();
+        final long probes = hits + getMisses();
+        return probes == 0 ? 0.0 : (double) hits / probes;
+    }
+
+    @Override
+    public String toString()
+    {
+        return String.format("PawnHashTable: %d entries, %d hits, %d misses (%.1f%% hit rate)", size(), getHits(), getMisses(), 100.0 * getHitRate());
+    }
+}
@@ -0,0 +1,59 @@
+package chess.engine.player.ai;
+
+import chess.engine.board.Board;
+import chess.engine.board.PieceSquareTables;
+import chess.engine.board.SearchBoard;
+
+//Scores a position by material and piece-square tables, tapered between middlegame and endgame, see PieceSquareTables,
+//plus the pawn structure. A SearchBoard keeps the first up to date as moves are made and the second is usually in the
+//PawnHashTable, so scoring one takes no move generation unless the side to move is in check, where it has to find out
+//whether it's checkmate
+
+public class PieceSquareEvaluator implements BoardEvaluator
+{
+    public static final int CHECK_MATE_SCORE = 100000; //Plus the depth left, so a mate found sooner scores higher
+
+    private final PawnEvaluator pawnEvaluator;
+
+    public PieceSquareEvaluator()
+    {
+        this(new PawnEvaluator());
+    }
+
+    public PieceSquareEvaluator(final PawnEvaluator pawnEvaluator)
+    {
+        this.pawnEvaluator = pawnEvaluator;
+    }
+
+    public PawnEvaluator getPawnEvaluator()
+    {
+        return this.pawnEvaluator;
+    }
+
+    @Override
+    public int evaluate(final Board board, final int depth)
+    {
+        if (board.currentPlayer().isInCheckMate())
+        {
+            return checkmate(board.currentPlayer().getColor().isWhite(), depth);
+        }
+
+        return PieceSquareTables.score(board) + this.pawnEvaluator.evaluate(board);
+    }
+
+    @Override
+    public int evaluate(final SearchBoard board, final int depth)
+    {
+        if (board.isInCheck() && !board.hasLegalMoves())
+        {
+            return checkmate(board.getMoveMaker().isWhite(), depth);
+        }
+
+        return board.getPieceSquareScore() + this.pawnEvaluator.evaluate(board);
+    }
+
+    private static int checkmate(final boolean whiteMated, final int depth)
+    {
+        return whiteMated ? -(CHECK_MATE_SCORE + depth) : CHECK_MATE_SCORE + depth;
+    }
+}
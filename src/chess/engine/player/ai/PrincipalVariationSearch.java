@@ -0,0 +1,134 @@
+package chess.engine.player.ai;
+
+import chess.engine.board.Board;
+import chess.engine.board.Moves;
+
+import java.util.Collections;
+import java.util.List;
+
+//Searches with AlphaBeta's principal variation search at depth 1, 2, 3... up to the requested depth. From depth 2 on
+//each search starts with a narrow aspiration window around the last depth's score, since the score rarely moves much
+//between depths; if the result falls outside the window the search is repeated with a wider one.
+//Keeps the full expected line of play, not just its first move, see getPrincipalVariation
+//LazySmp runs its main search's depths through searchDepth too, so it gets the same windows
+
+public class PrincipalVariationSearch implements MoveStrategy
+{
+    private static final int ASPIRATION_WINDOW = 50; //Either side of the last score, half a pawn
+    private static final int MAX_ASPIRATION_WINDOW = 1000; //Past this the window is opened all the way
+
+    private final AlphaBeta alphaBeta;
+    private List<Moves> principalVariation;
+    private int score;
+    private long aspirationFailures;
+
+    public PrincipalVariationSearch()
+    {
+        this(new TranspositionTable(TranspositionTable.DEFAULT_SIZE_MB));
+    }
+
+    public PrincipalVariationSearch(final TranspositionTable transpositionTable)
+    {
+        this(new AlphaBeta(transpositionTable));
+        this.alphaBeta.setPrincipalVariationSearch(true);
+    }
+
+    PrincipalVariationSearch(final AlphaBeta alphaBeta) //Windows around an AlphaBeta set up by the caller
+    {
+        this.alphaBeta = alphaBeta;
+        this.principalVariation = Collections.emptyList();
+    }
+
+    @Override
+    public String toString()
+    {
+        return "PrincipalVariationSearch";
+    }
+
+    public AlphaBeta getAlphaBeta() //The search run at each depth, e.g. to turn its prunings on
+    {
+        return this.alphaBeta;
+    }
+
+    @Override
+    public List<Moves> getPrincipalVariation()
+    {
+        return this.principalVariation;
+    }
+
+    public int getScore() //Evaluation of the last call to execute's move
+    {
+        return this.score;
+    }
+
+    public long getAspirationFailures() //Searches the last call to execute had to repeat with a wider window
+    {
+        return this.aspirationFailures;
+    }
+
+    @Override
+    public Moves execute(final Board board, final int depth)
+    {
+        final long startTime = System.currentTimeMillis();
+        this.aspirationFailures = 0;
+        this.alphaBeta.newSearch(); //Once, so a failed window's results survive to the re-search
+
+        Moves bestMove = null;
+        for (int currentDepth = 1; currentDepth <= depth; currentDepth++)
+        {
+            bestMove = searchDepth(board, currentDepth);
+            if (bestMove == null) //No legal moves
+            {
+                break;
+            }
+        }
+
+        this.principalVariation = this.alphaBeta.getPrincipalVariation();
+
+        System.out.println(this + " expects " + this.principalVariation + ", score " + this.score + ", " + this.aspirationFailures +
+                           " aspiration failures in " + (System.currentTimeMillis() - startTime) + " ms");
+
+        return bestMove;
+    }
+
+    Moves searchDepth(final Board board, final int depth) //One depth of execute, the caller has searched the ones before it and aged the table
+    {
+        if (depth == 1)
+        {
+            final Moves move = this.alphaBeta.search(board, 1, Integer.MIN_VALUE, Integer.MAX_VALUE);
+            this.score = this.alphaBeta.getScore();
+            return move;
+        }
+
+        int lowerWindow = ASPIRATION_WINDOW;
+        int upperWindow = ASPIRATION_WINDOW;
+
+        while (true)
+        {
+            final int highest = lowerWindow > MAX_ASPIRATION_WINDOW ? Integer.MIN_VALUE : this.score - lowerWindow;
+            final int lowest = upperWindow > MAX_ASPIRATION_WINDOW ? Integer.MAX_VALUE : this.score + upperWindow;
+            final Moves move = this.alphaBeta.search(board, depth, highest, lowest);
+            final int value = this.alphaBeta.getScore();
+
+            if (this.alphaBeta.isTimedOut()) //Unfinished, the caller decides whether to keep it
+            {
+                return move;
+            }
+
+            if (value <= highest && highest != Integer.MIN_VALUE) //Worse than the window, only an upper bound
+            {
+                lowerWindow *= 4;
+            }
+            else if (value >= lowest && lowest != Integer.MAX_VALUE) //Better than the window, only a lower bound
+            {
+                upperWindow *= 4;
+            }
+            else
+            {
+                this.score = value;
+                return move;
+            }
+            this.aspirationFailures++;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package chess.engine.player.ai;
 
+import chess.engine.board.BitBoard;
 import chess.engine.board.Board;
 import chess.engine.pieces.Piece;
 import chess.engine.player.Player;
@@ -12,17 +13,37 @@ public class StandardBoardEvaluator implements BoardEvaluator
     private static final int CHECK_MATE_BONUS = 10000;
     private static final int DEPTH_BONUS = 100;
     private static final int CASTLE_BONUS = 60;
+    private static final Piece.PieceType[] PIECE_TYPES = Piece.PieceType.values();
+    private static final int[] MOBILITY_WEIGHTS = {0, 4, 3, 1, 2, 0}; //By PieceType ordinal: pawn, knight, bishop, queen, rook, king
+
+    private final PawnEvaluator pawnEvaluator;
+
+    public StandardBoardEvaluator()
+    {
+        this(new PawnEvaluator());
+    }
+
+    public StandardBoardEvaluator(final PawnEvaluator pawnEvaluator)
+    {
+        this.pawnEvaluator = pawnEvaluator;
+    }
+
+    public PawnEvaluator getPawnEvaluator()
+    {
+        return this.pawnEvaluator;
+    }
 
     @Override
     public int evaluate(final Board board, final int depth) //Calculates the difference in points
     {
-        return scorePlayer(board, board.whitePlayer(), depth) - scorePlayer(board, board.blackPlayer(), depth);
+        return scorePlayer(board, board.whitePlayer(), depth) - scorePlayer(board, board.blackPlayer(), depth) +
+               this.pawnEvaluator.evaluate(board);
     }
 
     private int scorePlayer(final Board board, final Player player, final int depth) //Returns the amount of points of a single player
     {
-        return pieceValue(player) +
-               mobility(player) +
+        return pieceValue(board, player) +
+               mobility(board, player) +
                check(player) +
                checkmate(player, depth) +
                castled(player);
@@ -38,9 +59,27 @@ public class StandardBoardEvaluator implements BoardEvaluator
         return player.getOpponent().isInCheck() ? CHECK_BONUS : 0;
     }
 
-    private static int mobility(final Player player) //Points equivalent to how many moves can be made
+    private static int mobility(final Board board, final Player player) //Weighted points for every tile a piece attacks that its own side doesn't hold. From attack tables, no moves generated, pins ignored
     {
-        return player.getLegalMoves().size();
+        final BitBoard bitBoard = board.getBitBoard();
+        final long notOwn = ~bitBoard.getOccupancy(player.getColor());
+        int mobilityScore = 0;
+
+        for (final Piece.PieceType pieceType : PIECE_TYPES)
+        {
+            final int weight = MOBILITY_WEIGHTS[pieceType.ordinal()];
+            if (weight == 0)
+            {
+                continue;
+            }
+
+            for (long pieces = bitBoard.getPieces(pieceType, player.getColor()); pieces != 0; pieces &= pieces - 1)
+            {
+                mobilityScore += weight * Long.bitCount(bitBoard.getAttacks(Long.numberOfTrailingZeros(pieces)) & notOwn);
+            }
+        }
+
+        return mobilityScore;
     }
 
     private static int checkmate(final Player player, int depth) //If checkmate you win!
@@ -53,13 +92,13 @@ public class StandardBoardEvaluator implements BoardEvaluator
         return depth == 0 ? 1 : DEPTH_BONUS * depth;
     }
 
-    private static int pieceValue(final Player player) //Each type of piece has a different number of points associated with it
+    private static int pieceValue(final Board board, final Player player) //Each type of piece has a different number of points associated with it
     {
         int pieceValueScore = 0;
 
-        for (final Piece piece : player.getActivePieces())
+        for (final Piece.PieceType pieceType : PIECE_TYPES) //Counted straight from the bitboards
         {
-            pieceValueScore += piece.getPieceValue();
+            pieceValueScore += pieceType.getPieceValue() * Long.bitCount(board.getBitBoard().getPieces(pieceType, player.getColor()));
         }
 
         return pieceValueScore;
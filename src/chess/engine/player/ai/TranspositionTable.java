@@ -0,0 +1,167 @@
+package chess.engine.player.ai;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+//Remembers the result of searching a position, keyed by its Zobrist key, so the same position reached again through a
+//different move order doesn't have to be searched again. Entries are two longs in plain arrays with no locking: the key is
+//stored XORed with the data, so an entry half overwritten by another thread just fails to match and counts as a miss
+
+public final class TranspositionTable
+{
+    //Bounds, what the stored score means
+    public static final int EXACT = 1;
+    public static final int LOWER_BOUND = 2; //The real score is at least this
+    public static final int UPPER_BOUND = 3; //The real score is at most this
+
+    public static final int DEFAULT_SIZE_MB = 16;
+    public static final long NO_ENTRY = 0L; //Real entries always have a bound, so never pack to zero
+
+    private static final int BYTES_PER_ENTRY = 2 * Long.BYTES;
+
+    //Layout of an entry's data: move in bits 0-15, score in 16-47, depth in 48-55, bound in 56-57, generation in 58-63
+    private static final int SCORE_SHIFT = 16;
+    private static final int DEPTH_SHIFT = 48;
+    private static final int BOUND_SHIFT = 56;
+    private static final int GENERATION_SHIFT = 58;
+    private static final int GENERATIONS = 64;
+
+    private final long[] keys;
+    private final long[] data;
+    private final int mask;
+    private volatile int generation;
+
+    private final LongAdder hits;
+    private final LongAdder misses;
+    private final LongAdder stores;
+
+    public TranspositionTable(final int sizeInMegabytes)
+    {
+        final long maxEntries = Math.max(1L, (long) sizeInMegabytes * 1024 * 1024 / BYTES_PER_ENTRY);
+        final int numEntries = Integer.highestOneBit((int) Math.min(maxEntries, 1 << 30)); //Power of two so the index is a mask
+
+        this.keys = new long[numEntries];
+        this.data = new long[numEntries];
+        this.mask = numEntries - 1;
+        this.hits = new LongAdder();
+        this.misses = new LongAdder();
+        this.stores = new LongAdder();
+    }
+
+    public static int getMove(final long entry) //A CompactMove, or CompactMove.NO_MOVE
+    {
+        return (int) (entry & 0xFFFF);
+    }
+
+    public static int getScore(final long entry)
+    {
+        return (int) (entry >> SCORE_SHIFT);
+    }
+
+    public static int getDepth(final long entry)
+    {
+        return (int) ((entry >>> DEPTH_SHIFT) & 0xFF);
+    }
+
+    public static int getBound(final long entry)
+    {
+        return (int) ((entry >>> BOUND_SHIFT) & 0x3);
+    }
+
+    private static int getGeneration(final long entry)
+    {
+        return (int) (entry >>> GENERATION_SHIFT);
+    }
+
+    public long probe(final long zobristKey) //The packed entry for this position, or NO_ENTRY
+    {
+        final int index = (int) zobristKey & this.mask;
+        final long entry = this.data[index];
+
+        if ((this.keys[index] ^ entry) == zobristKey && entry != NO_ENTRY)
+        {
+            this.hits.increment();
+            return entry;
+        }
+
+        this.misses.increment();
+        return NO_ENTRY;
+    }
+
+    public void store(final long zobristKey, final int move, final int score, final int depth, final int bound)
+    {
+        final int index = (int) zobristKey & this.mask;
+        final long existing = this.data[index];
+        final boolean samePosition = (this.keys[index] ^ existing) == zobristKey;
+
+        //Replacement: keep a deeper result from this search, anything else (older searches, shallower results) gets overwritten
+        if (existing != NO_ENTRY && getGeneration(existing) == this.generation && depth < getDepth(existing) && !(samePosition && bound == EXACT))
+        {
+            return;
+        }
+
+        final int storedMove = move == 0 && samePosition ? getMove(existing) : move; //Don't lose a known best move to a result without one
+        final long entry = (storedMove & 0xFFFFL) |
+                           ((score & 0xFFFFFFFFL) << SCORE_SHIFT) |
+                           ((long) Math.min(depth, 0xFF) << DEPTH_SHIFT) |
+                           ((long) bound << BOUND_SHIFT) |
+                           ((long) this.generation << GENERATION_SHIFT);
+
+        this.data[index] = entry;
+        this.keys[index] = zobristKey ^ entry;
+        this.stores.increment();
+    }
+
+    public void newSearch() //Ages every entry, so results from earlier moves give way to the new search's
+    {
+        this.generation = (this.generation + 1) % GENERATIONS;
+    }
+
+    public int getGeneration() //Searches begun, wrapping at GENERATIONS
+    {
+        return this.generation;
+    }
+
+    public void clear()
+    {
+        Arrays.fill(this.keys, 0L);
+        Arrays.fill(this.data, 0L);
+        this.hits.reset();
+        this.misses.reset();
+        this.stores.reset();
+    }
+
+    public int size() //Number of entries
+    {
+        return this.data.length;
+    }
+
+    public long getHits()
+    {
+        return this.hits.sum();
+    }
+
+    public long getMisses()
+    {
+        return this.misses.sum();
+    }
+
+    public long getStores()
+    {
+        return this.stores.sum();
+    }
+
+    public double getHitRate()
+    {
+        final long hits = getHits();
+        final long probes = hits + getMisses();
+        return probes == 0 ? 0.0 : (double) hits / probes;
+    }
+
+    @Override
+    public String toString()
+    {
+        return String.format("TranspositionTable: %d entries, %d hits, %d misses (%.1f%% hit rate), %d stores",
+                             size(), getHits(), getMisses(), 100.0 * getHitRate(), getStores());
+    }
+}
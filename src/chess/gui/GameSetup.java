@@ -2,6 +2,17 @@ package chess.gui;
 
 import chess.engine.Color;
 import chess.engine.player.Player;
+import chess.engine.player.ai.AlphaBeta;
+import chess.engine.player.ai.BoardEvaluator;
+import chess.engine.player.ai.CachingBoardEvaluator;
+import chess.engine.player.ai.IterativeDeepening;
+import chess.engine.player.ai.LazySmp;
+import chess.engine.player.ai.MinMax;
+import chess.engine.player.ai.MoveStrategy;
+import chess.engine.player.ai.PieceSquareEvaluator;
+import chess.engine.player.ai.PrincipalVariationSearch;
+import chess.engine.player.ai.StandardBoardEvaluator;
+import chess.engine.player.ai.TranspositionTable;
 
 import javax.swing.*;
 import java.awt.*;
@@ -15,9 +26,25 @@ public class GameSetup extends JDialog
     private Table.PlayerType whitePlayer;
     private Table.PlayerType blackPlayer;
     private JSpinner searchDepth;
+    private JSpinner searchTime;
+    private JSpinner hashSize;
+    private JSpinner threads;
+    private boolean useAlphaBeta;
+    private boolean usePrincipalVariationSearch;
+    private boolean nullMovePruning;
+    private boolean lateMoveReductions;
+    private boolean usePieceSquareEvaluator;
+    private boolean cacheEvaluations;
+    private TranspositionTable transpositionTable; //Kept between moves, so the ai starts each search with what it learned in the last
+    private int transpositionTableSize;
+    private String transpositionTableScores; //Search and evaluator whose scores the table holds, see getTranspositionTable
+    private CachingBoardEvaluator evaluationCache; //Kept between moves like the table, and shared by every thread of a search
 
     private static final String HUMAN_TEXT = "Human";
     private static final String COMPUTER_TEXT = "Computer";
+    private static final String MINMAX_TEXT = "MinMax";
+    private static final String ALPHA_BETA_TEXT = "AlphaBeta";
+    private static final String PRINCIPAL_VARIATION_TEXT = "Principal variation search";
 
     GameSetup(final JFrame frame, final boolean modal)
     {
@@ -38,6 +65,15 @@ public class GameSetup extends JDialog
         blackGroup.add(blackComputerButton);
         blackHumanButton.setSelected(true);
 
+        final JRadioButton minMaxButton = new JRadioButton(MINMAX_TEXT);
+        final JRadioButton alphaBetaButton = new JRadioButton(ALPHA_BETA_TEXT);
+        final JRadioButton principalVariationButton = new JRadioButton(PRINCIPAL_VARIATION_TEXT);
+        final ButtonGroup searchGroup = new ButtonGroup();
+        searchGroup.add(minMaxButton);
+        searchGroup.add(alphaBetaButton);
+        searchGroup.add(principalVariationButton);
+        minMaxButton.setSelected(true);
+
         getContentPane().add(myPanel);
         myPanel.add(new JLabel("White"));
         myPanel.add(whiteHumanButton);
@@ -46,8 +82,24 @@ public class GameSetup extends JDialog
         myPanel.add(blackHumanButton);
         myPanel.add(blackComputerButton);
         myPanel.add(new JLabel("Search"));
+        myPanel.add(minMaxButton);
+        myPanel.add(alphaBetaButton);
+        myPanel.add(principalVariationButton);
+
+        final JCheckBox nullMoveBox = new JCheckBox("Null move pruning (AlphaBeta)");
+        final JCheckBox lateMoveBox = new JCheckBox("Late move reductions (AlphaBeta)");
+        myPanel.add(nullMoveBox);
+        myPanel.add(lateMoveBox);
 
-        this.searchDepth = addLabeledSpinner(myPanel, "SearchDepth", new SpinnerNumberModel(3, 0, Integer.MAX_VALUE, 1));
+        final JCheckBox pieceSquareBox = new JCheckBox("Piece-square evaluator");
+        myPanel.add(pieceSquareBox);
+        final JCheckBox evaluationCacheBox = new JCheckBox("Cache evaluations");
+        myPanel.add(evaluationCacheBox);
+
+        this.searchDepth = addLabeledSpinner(myPanel, "SearchDepth", new SpinnerNumberModel(3, 1, IterativeDeepening.MAX_DEPTH, 1));
+        this.searchTime = addLabeledSpinner(myPanel, "SearchTime (ms, 0 = fixed depth)", new SpinnerNumberModel(0, 0, Integer.MAX_VALUE, 100));
+        this.hashSize = addLabeledSpinner(myPanel, "Hash (MB)", new SpinnerNumberModel(TranspositionTable.DEFAULT_SIZE_MB, 1, 8192, 16));
+        this.threads = addLabeledSpinner(myPanel, "Threads (AlphaBeta)", new SpinnerNumberModel(1, 1, Runtime.getRuntime().availableProcessors(), 1));
 
         final JButton cancelButton = new JButton("Cancel");
         final JButton okButton = new JButton("OK");
@@ -60,6 +112,12 @@ public class GameSetup extends JDialog
                 //Black and white players can both either be a computer or human
                 whitePlayer = whiteComputerButton.isSelected() ? Table.PlayerType.COMPUTER : Table.PlayerType.HUMAN;
                 blackPlayer = blackComputerButton.isSelected() ? Table.PlayerType.COMPUTER : Table.PlayerType.HUMAN;
+                useAlphaBeta = alphaBetaButton.isSelected();
+                usePrincipalVariationSearch = principalVariationButton.isSelected();
+                nullMovePruning = nullMoveBox.isSelected();
+                lateMoveReductions = lateMoveBox.isSelected();
+                usePieceSquareEvaluator = pieceSquareBox.isSelected();
+                cacheEvaluations = evaluationCacheBox.isSelected();
                 GameSetup.this.setVisible(false);
             }
         });
@@ -117,8 +175,121 @@ public class GameSetup extends JDialog
         return spinner;
     }
 
-    int getSearchDepth() //Search depth used by the ai when deciding on a move
+    int getSearchDepth() //Search depth used by the ai when deciding on a move, with a time budget only the clock stops the search
+    {
+        return getSearchTime() > 0 ? IterativeDeepening.MAX_DEPTH : (Integer) this.searchDepth.getValue();
+    }
+
+    int getSearchTime() //Milliseconds the ai may think for each move, 0 to search to a fixed depth instead
+    {
+        return (Integer) this.searchTime.getValue();
+    }
+
+    int getHashSize() //Megabytes for the ai's transposition table
+    {
+        return (Integer) this.hashSize.getValue();
+    }
+
+    int getThreads() //Threads an AlphaBeta search runs on, see LazySmp
+    {
+        return (Integer) this.threads.getValue();
+    }
+
+    MoveStrategy createMoveStrategy() //A fresh instance of the search the user picked, a time budget always uses AlphaBeta
     {
-        return (Integer) this.searchDepth.getValue();
+        final TranspositionTable table = getTranspositionTable();
+
+        if ((this.useAlphaBeta || this.usePrincipalVariationSearch || getSearchTime() > 0) && getThreads() > 1)
+        {
+            final LazySmp lazySmp = new LazySmp(getThreads(), table);
+            lazySmp.setSearchTime(getSearchTime());
+            lazySmp.setAspirationWindows(this.usePrincipalVariationSearch);
+            for (final AlphaBeta alphaBeta : lazySmp.getSearches())
+            {
+                configure(alphaBeta);
+            }
+            return lazySmp;
+        }
+
+        if (getSearchTime() > 0)
+        {
+            final IterativeDeepening iterativeDeepening = new IterativeDeepening(getSearchTime(), table);
+            configure(iterativeDeepening.getAlphaBeta());
+            return iterativeDeepening;
+        }
+
+        if (this.usePrincipalVariationSearch)
+        {
+            final PrincipalVariationSearch principalVariationSearch = new PrincipalVariationSearch(table);
+            configure(principalVariationSearch.getAlphaBeta());
+            return principalVariationSearch;
+        }
+
+        if (this.useAlphaBeta)
+        {
+            final AlphaBeta alphaBeta = new AlphaBeta(table);
+            configure(alphaBeta);
+            return alphaBeta;
+        }
+
+        final MinMax minMax = new MinMax(table);
+        minMax.setBoardEvaluator(createBoardEvaluator());
+        return minMax;
+    }
+
+    private BoardEvaluator createBoardEvaluator() //With the cache on, the same cache until the evaluator setting changes
+    {
+        final BoardEvaluator boardEvaluator = this.usePieceSquareEvaluator ? new PieceSquareEvaluator() : new StandardBoardEvaluator();
+        if (!this.cacheEvaluations)
+        {
+            return boardEvaluator;
+        }
+
+        if (this.evaluationCache == null || this.evaluationCache.getBoardEvaluator().getClass() != boardEvaluator.getClass())
+        {
+            this.evaluationCache = new CachingBoardEvaluator(boardEvaluator);
+        }
+
+        return this.evaluationCache;
+    }
+
+    private void configure(final AlphaBeta alphaBeta)
+    {
+        alphaBeta.setNullMovePruning(this.nullMovePruning);
+        alphaBeta.setLateMoveReductions(this.lateMoveReductions);
+        alphaBeta.setPrincipalVariationSearch(this.usePrincipalVariationSearch); //Also used with a time budget
+        alphaBeta.setBoardEvaluator(createBoardEvaluator());
+    }
+
+    private TranspositionTable getTranspositionTable() //Only reallocated when the size setting changes
+    {
+        final int sizeInMegabytes = getHashSize();
+
+        if (this.transpositionTable == null || this.transpositionTableSize != sizeInMegabytes)
+        {
+            this.transpositionTable = new TranspositionTable(sizeInMegabytes);
+            this.transpositionTableSize = sizeInMegabytes;
+        }
+
+        //Entries don't say which search or evaluator scored them, and each scores on its own scale, so a change of either
+        //empties the table rather than have the new search take the old one's scores as its own
+        final String scores = getSearchName() + ", " + (this.usePieceSquareEvaluator ? "piece-square" : "standard") +
+                              (this.cacheEvaluations ? ", cached" : "");
+        if (!scores.equals(this.transpositionTableScores))
+        {
+            this.transpositionTable.clear();
+            this.transpositionTableScores = scores;
+        }
+
+        return this.transpositionTable;
+    }
+
+    private String getSearchName() //The search createMoveStrategy runs, a time budget never uses MinMax
+    {
+        if (this.usePrincipalVariationSearch)
+        {
+            return PRINCIPAL_VARIATION_TEXT;
+        }
+        return this.useAlphaBeta || getSearchTime() > 0 ? ALPHA_BETA_TEXT : MINMAX_TEXT;
     }
 }
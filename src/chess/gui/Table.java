@@ -6,7 +6,6 @@ import chess.engine.board.Moves;
 import chess.engine.board.Tile;
 import chess.engine.pieces.Piece;
 import chess.engine.player.MoveTransition;
-import chess.engine.player.ai.MinMax;
 import chess.engine.player.ai.MoveStrategy;
 import com.google.common.collect.Lists;
 import com.sun.xml.internal.bind.v2.TODO;
@@ -49,7 +48,6 @@ public class Table extends Observable
 
     private boolean highlightLegalMoves;
 
-    private static final int SEARCH_DEPTH = 3;
     private static final Dimension OUTER_FRAME_DIMENSION = new Dimension(600, 600);
     private static final Dimension BOARD_PANEL_DIMENSION = new Dimension(450, 450);
     private static final Dimension TILE_PANEL_DIMENSION = new Dimension(10, 15);
@@ -203,7 +201,8 @@ public class Table extends Observable
                !Table.get().getGameBoard().currentPlayer().isInCheckMate() &&
                !Table.get().getGameBoard().currentPlayer().isInStalemate()) //If more moves can be made
             {
-                final AIThinkTank thinkTank = new AIThinkTank();
+                final GameSetup gameSetup = Table.get().getGameSetup();
+                final AIThinkTank thinkTank = new AIThinkTank(gameSetup.createMoveStrategy(), gameSetup.getSearchDepth());
                 thinkTank.execute();
             }
 
@@ -221,16 +220,23 @@ public class Table extends Observable
 
     private static class AIThinkTank extends SwingWorker<Moves, String>
     {
-        private AIThinkTank()
-        {
+        private final MoveStrategy moveStrategy;
+        private final int searchDepth;
 
+        private AIThinkTank(final MoveStrategy moveStrategy, final int searchDepth) //Strategy and depth, or time budget, for this one move
+        {
+            this.moveStrategy = moveStrategy;
+            this.searchDepth = searchDepth;
         }
 
         @Override
         protected Moves doInBackground() throws Exception
         {
-            final MoveStrategy minMax = new MinMax();
-            final Moves bestMove = minMax.execute(Table.get().getGameBoard(), SEARCH_DEPTH); //Searches for the best move to make
+            final Moves bestMove = this.moveStrategy.execute(Table.get().getGameBoard(), this.searchDepth); //Searches for the best move to make
+            if (!this.moveStrategy.getPrincipalVariation().isEmpty())
+            {
+                System.out.println("Expected line: " + this.moveStrategy.getPrincipalVariation());
+            }
 
             return bestMove;
         }
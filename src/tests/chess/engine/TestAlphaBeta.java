@@ -0,0 +1,152 @@
+package tests.chess.engine;
+
+import chess.engine.board.Board;
+import chess.engine.board.BoardUtils;
+import chess.engine.board.FenUtilities;
+import chess.engine.board.Moves;
+import chess.engine.perft.PerftSuite;
+import chess.engine.player.ai.AlphaBeta;
+import chess.engine.player.ai.IterativeDeepening;
+import chess.engine.player.ai.PieceSquareEvaluator;
+import chess.engine.player.ai.PrincipalVariationSearch;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+//Tests the AlphaBeta search
+
+public class TestAlphaBeta
+{
+    private static final int D6 = BoardUtils.getCoordinateAtPosition("d6");
+    private static final int A5 = BoardUtils.getCoordinateAtPosition("a5");
+
+    @Test
+    public void testQuiescenceSeesRecapture()
+    {
+        final Board board = FenUtilities.createBoardFromFen("4k3/2p5/3p4/8/8/8/8/3QK3 w - - 0 1"); //d6 is defended by the c7 pawn
+        final AlphaBeta alphaBeta = new AlphaBeta();
+
+        alphaBeta.setQuiescence(false);
+        assertEquals(D6, alphaBeta.execute(board, 1).getDestination()); //Can't see past the capture
+        assertEquals(0, alphaBeta.getQuiescenceNodes());
+
+        alphaBeta.setQuiescence(true);
+        final Moves move = alphaBeta.execute(board, 1);
+        assertNotEquals(D6, move.getDestination());
+        assertTrue(alphaBeta.getQuiescenceNodes() > 0);
+    }
+
+    @Test
+    public void testQuiescenceSearchesEvasions()
+    {
+        final Board board = FenUtilities.createBoardFromFen("8/8/8/4k2q/8/8/8/R5K1 w - - 0 1"); //Ra5+ skewers the king and the queen behind it
+        final AlphaBeta alphaBeta = new AlphaBeta();
+        alphaBeta.setQuiescence(true);
+        alphaBeta.setBoardEvaluator(new PieceSquareEvaluator()); //No bonus for giving check, which would find Ra5+ anyway
+
+        assertEquals(A5, alphaBeta.execute(board, 1).getDestination()); //Only seen if black, in check, can't stand pat
+    }
+
+    @Test
+    public void testMateScoresFromTable()
+    {
+        final Board board = FenUtilities.createBoardFromFen("7k/8/8/8/8/8/R7/1R4K1 w - - 0 1"); //Mate in 2, Ra7 Kg8 Rb8
+        final AlphaBeta fresh = new AlphaBeta();
+        fresh.setBoardEvaluator(new PieceSquareEvaluator());
+        fresh.execute(board, 4);
+
+        final AlphaBeta warm = new AlphaBeta();
+        warm.setBoardEvaluator(new PieceSquareEvaluator());
+        warm.execute(board, 5); //Leaves mates found with a ply more to go in the table
+        warm.execute(board, 4);
+
+        assertTrue(fresh.getScore() > PieceSquareEvaluator.CHECK_MATE_SCORE);
+        assertEquals(fresh.getScore(), warm.getScore());
+    }
+
+    @Test
+    public void testPruningShrinksTree()
+    {
+        final Board board = FenUtilities.createBoardFromFen("r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10");
+
+        final AlphaBeta fullWidth = new AlphaBeta();
+        fullWidth.execute(board, 4);
+
+        final AlphaBeta pruning = new AlphaBeta();
+        pruning.setNullMovePruning(true);
+        pruning.setLateMoveReductions(true);
+        pruning.execute(board, 4);
+
+        assertTrue(pruning.getNullMoveCutOffs() > 0);
+        assertTrue(pruning.getReducedMoves() > 0);
+        assertTrue(pruning.getNodesSearched() < fullWidth.getNodesSearched());
+        assertTrue(pruning.getEffectiveBranchingFactor() < fullWidth.getEffectiveBranchingFactor());
+        assertEquals(0, fullWidth.getNullMoveCutOffs());
+    }
+
+    @Test
+    public void testNoNullMoveWithOnlyPawns()
+    {
+        final Board board = FenUtilities.createBoardFromFen("8/8/1p6/1P2k3/8/4K3/8/8 w - - 0 1"); //Zugzwang-prone, passing would be the best move
+        final AlphaBeta alphaBeta = new AlphaBeta();
+        alphaBeta.setNullMovePruning(true);
+        alphaBeta.execute(board, 5);
+
+        assertEquals(0, alphaBeta.getNullMoveCutOffs());
+    }
+
+    @Test
+    public void testPrincipalVariationSearch()
+    {
+        final Board board = FenUtilities.createBoardFromFen("r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10");
+
+        final AlphaBeta alphaBeta = new AlphaBeta();
+        final Moves expected = alphaBeta.execute(board, 4);
+
+        final PrincipalVariationSearch search = new PrincipalVariationSearch();
+        final Moves move = search.execute(board, 4);
+        assertEquals(expected.toString(), move.toString()); //Narrower windows mustn't change the result
+        assertEquals(alphaBeta.getScore(), search.getScore());
+
+        final List<Moves> principalVariation = search.getPrincipalVariation();
+        assertFalse(principalVariation.isEmpty());
+        assertEquals(move.toString(), principalVariation.get(0).toString());
+        assertTrue(principalVariation.size() <= 4);
+    }
+
+    @Test
+    public void testStoppedStillReturnsMove()
+    {
+        for (final PerftSuite.PerftPosition position : PerftSuite.POSITIONS)
+        {
+            final Board board = position.getBoard();
+            final AlphaBeta alphaBeta = new AlphaBeta();
+            alphaBeta.setStopped(true); //Gives up at the first look at the clock, before any move is finished
+            final Moves move = alphaBeta.execute(board, 5);
+
+            assertTrue(alphaBeta.isTimedOut());
+            assertTrue(position.toString(), board.currentPlayer().makeMove(move).getMoveStatus().isDone());
+        }
+    }
+
+    @Test
+    public void testTinyTimeBudget()
+    {
+        for (final PerftSuite.PerftPosition position : PerftSuite.POSITIONS)
+        {
+            final Board board = position.getBoard();
+            final Moves move = new IterativeDeepening(1).execute(board, IterativeDeepening.MAX_DEPTH);
+
+            assertNotNull(position.toString(), move);
+            assertTrue(position.toString(), board.currentPlayer().makeMove(move).getMoveStatus().isDone());
+        }
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void testRejectsDepthZero()
+    {
+        new AlphaBeta().execute(Board.createStandardBoard(), 0);
+    }
+}
@@ -1,9 +1,11 @@
 package tests.chess.engine;
 
 import chess.engine.Color;
+import chess.engine.board.BitBoard;
 import chess.engine.board.Board;
 import chess.engine.board.BoardUtils;
 import chess.engine.board.Moves;
+import chess.engine.perft.PerftSuite;
 import chess.engine.pieces.*;
 import chess.engine.player.MoveTransition;
 import chess.engine.player.ai.StandardBoardEvaluator;
@@ -45,6 +47,33 @@ public class TestBoard
         assertEquals(Iterables.size(allPieces), 32);
     }
 
+    @Test
+    public void testBitBoardMatchesTiles()
+    {
+        final Board board = Board.createStandardBoard();
+        final BitBoard bitBoard = board.getBitBoard();
+
+        assertEquals(bitBoard.getOccupancy(Color.BLACK), 0xFFFFL);
+        assertEquals(bitBoard.getOccupancy(Color.WHITE), 0xFFFFL << 48);
+        assertEquals(bitBoard.getPieces(Piece.PieceType.PAWN, Color.WHITE), 0xFFL << 48);
+        assertEquals(bitBoard.getPieces(Piece.PieceType.KING, Color.BLACK), 1L << 4);
+        assertEquals(bitBoard.getPieces(Piece.PieceType.ROOK, Color.WHITE), (1L << 56) | (1L << 63));
+
+        for (int i = 0; i < BoardUtils.NUM_TILES; i++)
+        {
+            assertEquals(board.getTile(i).isFull(), bitBoard.isOccupied(i));
+            assertEquals(board.getTile(i).getPiece(), board.getPiece(i));
+        }
+
+        for (final Piece piece : board.getAllPieces())
+        {
+            assertTrue((bitBoard.getPieces(piece.getPieceType(), piece.getPieceColor()) & (1L << piece.getPiecePosition())) != 0);
+        }
+
+        assertEquals(board.getWhitePieces().size(), 16);
+        assertEquals(board.getBlackPieces().size(), 16);
+    }
+
     @Test(expected = RuntimeException.class)
     public void testInvalidBoard()
     {
@@ -112,4 +141,77 @@ public class TestBoard
         end = runtime.freeMemory();
         System.out.println("That took " + ( start - end ) + " bytes of memory!");
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testSquareAttackedAlongRays()
+    {
+        final Board.Builder builder = new Board.Builder();
+        builder.setPiece(new King(60, Color.WHITE));
+        builder.setPiece(new Rook(63, Color.WHITE));
+        builder.setPiece(new King(4, Color.BLACK));
+        builder.setPiece(new Bishop(26, Color.BLACK)); //c5
+        builder.setPiece(new Pawn(44, Color.WHITE)); //e3
+        builder.setMoveMaker(Color.WHITE);
+        final Board board = builder.build();
+
+        assertTrue(board.isSquareAttacked(BoardUtils.getCoordinateAtPosition("e3"), Color.BLACK));
+        assertFalse(board.isSquareAttacked(BoardUtils.getCoordinateAtPosition("f2"), Color.BLACK)); //Behind the pawn
+        assertTrue(board.isSquareAttacked(BoardUtils.getCoordinateAtPosition("a7"), Color.BLACK));
+        assertTrue(board.isSquareAttacked(BoardUtils.getCoordinateAtPosition("h8"), Color.WHITE)); //Rook up the open h file
+        assertTrue(board.isSquareAttacked(BoardUtils.getCoordinateAtPosition("d4"), Color.WHITE)); //Pawn capture
+        assertFalse(board.isSquareAttacked(BoardUtils.getCoordinateAtPosition("e4"), Color.WHITE)); //Pawn push, not an attack
+    }
+
+    @Test
+    public void testNoCastlingThroughAttackedTile()
+    {
+        final Board.Builder builder = new Board.Builder();
+        builder.setPiece(new King(60, Color.WHITE, true));
+        builder.setPiece(new Rook(63, Color.WHITE, true));
+        builder.setPiece(new King(4, Color.BLACK, false));
+        builder.setMoveMaker(Color.WHITE);
+        assertTrue(hasCastle(builder.build()));
+
+        builder.setPiece(new Rook(5, Color.BLACK)); //f8, looks down the f file at f1
+        assertFalse(hasCastle(builder.build()));
+    }
+
+    @Test
+    public void testAttacksMatchPieceMoves() //Apart from pawns and castling, a piece moves to exactly the tiles it attacks that its own side doesn't hold
+    {
+        for (final PerftSuite.PerftPosition position : PerftSuite.POSITIONS)
+        {
+            final Board board = position.getBoard();
+            final BitBoard bitBoard = board.getBitBoard();
+
+            for (int tile = 0; tile < BoardUtils.NUM_TILES; tile++)
+            {
+                final Piece piece = board.getPiece(tile);
+                if (piece == null || piece.getPieceType() == Piece.PieceType.PAWN || piece.getPieceType() == Piece.PieceType.KING)
+                {
+                    continue;
+                }
+
+                long destinations = 0L;
+                for (final Moves move : piece.getLegalMoves(board))
+                {
+                    destinations |= 1L << move.getDestination();
+                }
+                assertEquals(position + " " + piece, destinations, bitBoard.getAttacks(tile) & ~bitBoard.getOccupancy(piece.getPieceColor()));
+            }
+        }
+    }
+
+    private static boolean hasCastle(final Board board)
+    {
+        for (final Moves move : board.currentPlayer().getLegalMoves())
+        {
+            if (move.isCastlingMove())
+            {
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
@@ -0,0 +1,59 @@
+package tests.chess.engine;
+
+import chess.engine.board.Board;
+import chess.engine.board.SearchBoard;
+import chess.engine.perft.PerftSuite;
+import chess.engine.player.ai.AlphaBeta;
+import chess.engine.player.ai.CachingBoardEvaluator;
+import chess.engine.player.ai.MinMax;
+import chess.engine.player.ai.PieceSquareEvaluator;
+import chess.engine.player.ai.StandardBoardEvaluator;
+import chess.engine.player.ai.TranspositionTable;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+//Tests that caching an evaluator's scores doesn't change them
+
+public class TestCachingBoardEvaluator
+{
+    @Test
+    public void testSameScores()
+    {
+        final StandardBoardEvaluator evaluator = new StandardBoardEvaluator();
+        final CachingBoardEvaluator cache = new CachingBoardEvaluator(new StandardBoardEvaluator(), 1);
+
+        for (final PerftSuite.PerftPosition position : PerftSuite.POSITIONS)
+        {
+            final Board board = position.getBoard();
+            for (int depth = 0; depth < 3; depth++)
+            {
+                assertEquals(position.toString(), evaluator.evaluate(board, depth), cache.evaluate(board, depth));
+                assertEquals(position.toString(), evaluator.evaluate(board, depth), cache.evaluate(new SearchBoard(board), depth)); //Found under the same key
+            }
+        }
+
+        assertEquals(3 * PerftSuite.POSITIONS.size(), cache.getHits());
+        assertEquals(3 * PerftSuite.POSITIONS.size(), cache.getMisses());
+    }
+
+    @Test
+    public void testSearchUnchanged()
+    {
+        final Board board = PerftSuite.POSITIONS.get(1).getBoard();
+
+        final AlphaBeta alphaBeta = new AlphaBeta();
+        alphaBeta.setBoardEvaluator(new PieceSquareEvaluator());
+        final String expected = alphaBeta.execute(board, 3).toString();
+
+        final CachingBoardEvaluator cache = new CachingBoardEvaluator(new PieceSquareEvaluator(), 1);
+        final AlphaBeta cachedAlphaBeta = new AlphaBeta();
+        cachedAlphaBeta.setBoardEvaluator(cache);
+        assertEquals(expected, cachedAlphaBeta.execute(board, 3).toString());
+        assertTrue(cache.getHits() > 0);
+
+        final MinMax minMax = new MinMax(new TranspositionTable(1)); //Shared by its root move tasks
+        minMax.setBoardEvaluator(cache);
+        assertNotNull(minMax.execute(board, 2));
+    }
+}
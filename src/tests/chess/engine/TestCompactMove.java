@@ -0,0 +1,77 @@
+package tests.chess.engine;
+
+import chess.engine.Color;
+import chess.engine.board.Board;
+import chess.engine.board.CompactMove;
+import chess.engine.board.Moves;
+import chess.engine.board.SearchBoard;
+import chess.engine.pieces.*;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+//Tests packing moves into ints and back
+
+public class TestCompactMove
+{
+    @Test
+    public void testPacking()
+    {
+        final int move = CompactMove.create(12, 4, CompactMove.PROMOTION_ATTACK + CompactMove.KNIGHT_PROMOTION);
+        assertEquals(12, CompactMove.getCurrentCoordinate(move));
+        assertEquals(4, CompactMove.getDestination(move));
+        assertTrue(CompactMove.isAttack(move));
+        assertTrue(CompactMove.isPromotion(move));
+        assertEquals(Piece.PieceType.KNIGHT, CompactMove.getPromotionType(move));
+        assertEquals("e7e8n", CompactMove.toString(move));
+        assertEquals(0, move & ~0xFFFF);
+
+        assertTrue(CompactMove.isAttack(CompactMove.create(27, 18, CompactMove.EN_PASSANT)));
+        assertFalse(CompactMove.isAttack(CompactMove.create(60, 62, CompactMove.KING_SIDE_CASTLE)));
+        assertNull(CompactMove.getPromotionType(CompactMove.create(52, 36, CompactMove.PAWN_JUMP)));
+    }
+
+    @Test
+    public void testRoundTripMatchesSearchBoard()
+    {
+        final Board.Builder builder = new Board.Builder(); //Castling, captures, promotions and pawn jumps for white
+        builder.setPiece(new King(60, Color.WHITE, true));
+        builder.setPiece(new Rook(63, Color.WHITE, true));
+        builder.setPiece(new Rook(56, Color.WHITE, true));
+        builder.setPiece(new Pawn(9, Color.WHITE));
+        builder.setPiece(new Pawn(52, Color.WHITE));
+        builder.setPiece(new King(4, Color.BLACK, false));
+        builder.setPiece(new Knight(0, Color.BLACK));
+        builder.setPiece(new Bishop(45, Color.BLACK));
+        builder.setMoveMaker(Color.WHITE);
+        final Board board = builder.build();
+
+        final SearchBoard searchBoard = new SearchBoard(board);
+        final int[] moves = new int[SearchBoard.MAX_MOVES];
+        final int numMoves = searchBoard.generateMoves(moves);
+        final Set<Integer> generated = new HashSet<>();
+        for (int i = 0; i < numMoves; i++)
+        {
+            generated.add(moves[i]);
+        }
+
+        boolean sawPromotion = false;
+        boolean sawCastle = false;
+        for (final Moves move : board.currentPlayer().getLegalMoves())
+        {
+            final int packed = CompactMove.fromMove(move);
+            assertTrue(move + " not generated by SearchBoard", generated.contains(packed));
+            assertSame(move, CompactMove.toMove(board, packed));
+
+            sawPromotion |= CompactMove.isPromotion(packed);
+            sawCastle |= CompactMove.getFlags(packed) == CompactMove.KING_SIDE_CASTLE;
+        }
+
+        assertTrue(sawPromotion);
+        assertTrue(sawCastle);
+        assertEquals(CompactMove.NO_MOVE, CompactMove.fromMove(Moves.NULL_MOVE));
+    }
+}
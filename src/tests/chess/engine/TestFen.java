@@ -0,0 +1,110 @@
+package tests.chess.engine;
+
+import chess.engine.Color;
+import chess.engine.board.Board;
+import chess.engine.board.BoardUtils;
+import chess.engine.board.FenUtilities;
+import chess.engine.board.Moves;
+import chess.engine.board.Zobrist;
+import chess.engine.perft.PerftSuite;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+//Tests reading and writing FEN strings
+
+public class TestFen
+{
+    @Test
+    public void testStandardBoard()
+    {
+        final Board board = FenUtilities.createBoardFromFen(FenUtilities.STANDARD_BOARD_FEN);
+        final Board standardBoard = Board.createStandardBoard();
+
+        assertEquals(standardBoard.getZobristKey(), board.getZobristKey());
+        assertEquals(standardBoard.toString(), board.toString());
+        assertEquals(FenUtilities.STANDARD_BOARD_FEN, FenUtilities.createFenFromBoard(standardBoard));
+    }
+
+    @Test
+    public void testRoundTrip()
+    {
+        for (final PerftSuite.PerftPosition position : PerftSuite.POSITIONS)
+        {
+            final String fen = FenUtilities.createFenFromBoard(position.getBoard());
+            final Board board = FenUtilities.createBoardFromFen(fen);
+
+            assertEquals(position.toString(), fen, FenUtilities.createFenFromBoard(board));
+            assertEquals(position.toString(), position.getBoard().getZobristKey(), board.getZobristKey());
+        }
+    }
+
+    @Test
+    public void testOptionalFields()
+    {
+        final String fen = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq";
+        assertEquals(FenUtilities.STANDARD_BOARD_FEN, FenUtilities.createFenFromBoard(FenUtilities.createBoardFromFen(fen)));
+        assertEquals(FenUtilities.STANDARD_BOARD_FEN, FenUtilities.createFenFromBoard(FenUtilities.createBoardFromFen(fen + " -")));
+
+        final Board board = FenUtilities.createBoardFromFen("4k3/8/8/8/8/8/8/4K3 b"); //No castling rights, no en passant target
+        assertEquals(Color.BLACK, board.currentPlayer().getColor());
+        assertEquals(0, board.getCastlingRights());
+        assertNull(board.getEnPassantPawn());
+        assertEquals("4k3/8/8/8/8/8/8/4K3 b - - 0 1", FenUtilities.createFenFromBoard(board));
+    }
+
+    @Test
+    public void testCastlingRights()
+    {
+        final Board board = FenUtilities.createBoardFromFen("r3k2r/8/8/8/8/8/8/R3K2R b Kq - 3 20");
+
+        assertEquals(Zobrist.WHITE_KING_SIDE | Zobrist.BLACK_QUEEN_SIDE, board.getCastlingRights());
+        assertEquals(Color.BLACK, board.currentPlayer().getColor());
+        assertTrue(board.getPiece(BoardUtils.getCoordinateAtPosition("h1")).isFirstMove());
+        assertFalse(board.getPiece(BoardUtils.getCoordinateAtPosition("a1")).isFirstMove());
+        assertTrue(board.getPiece(BoardUtils.getCoordinateAtPosition("e1")).isFirstMove());
+        assertFalse(board.getPiece(BoardUtils.getCoordinateAtPosition("h8")).isFirstMove());
+        assertEquals("r3k2r/8/8/8/8/8/8/R3K2R b Kq - 0 1", FenUtilities.createFenFromBoard(board));
+    }
+
+    @Test
+    public void testEnPassant()
+    {
+        final Board board = Board.createStandardBoard();
+        final Board jumped = board.currentPlayer().makeMove(Moves.MoveFactory.createMove(board,
+                                                                                         BoardUtils.getCoordinateAtPosition("e2"),
+                                                                                         BoardUtils.getCoordinateAtPosition("e4"))).getToBoard();
+        final String fen = "rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b KQkq e3 0 1";
+
+        assertEquals(fen, FenUtilities.createFenFromBoard(jumped));
+
+        final Board parsed = FenUtilities.createBoardFromFen(fen);
+        assertNotNull(parsed.getEnPassantPawn());
+        assertEquals(BoardUtils.getCoordinateAtPosition("e4"), parsed.getEnPassantPawn().getPiecePosition());
+        assertEquals(jumped.getZobristKey(), parsed.getZobristKey());
+    }
+
+    @Test
+    public void testInvalidFen()
+    {
+        final String[] invalidFens = {"", "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP w KQkq - 0 1",
+                                      "rnbqkbnr/ppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1",
+                                      "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNX w KQkq - 0 1",
+                                      "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR x KQkq - 0 1",
+                                      "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQxq - 0 1",
+                                      "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq e5 0 1"};
+
+        for (final String fen : invalidFens)
+        {
+            try
+            {
+                FenUtilities.createBoardFromFen(fen);
+                fail("Accepted " + fen);
+            }
+            catch (final RuntimeException expected)
+            {
+                //Expected
+            }
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package tests.chess.engine;
+
+import chess.engine.board.Board;
+import chess.engine.board.FenUtilities;
+import chess.engine.board.Moves;
+import chess.engine.perft.PerftSuite;
+import chess.engine.player.MoveTransition;
+import chess.engine.player.ai.AlphaBeta;
+import chess.engine.player.ai.IterativeDeepening;
+import chess.engine.player.ai.LazySmp;
+import chess.engine.player.ai.PrincipalVariationSearch;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+//Tests the multi-threaded LazySmp search
+
+public class TestLazySmp
+{
+    private static final String MIDDLE_GAME = "r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10";
+
+    @Test
+    public void testOneThreadSameAsAlphaBeta()
+    {
+        final Board board = FenUtilities.createBoardFromFen(MIDDLE_GAME);
+        final AlphaBeta alphaBeta = new AlphaBeta();
+        final Moves expected = alphaBeta.execute(board, 3);
+
+        final LazySmp lazySmp = new LazySmp(1);
+        assertEquals(expected.toString(), lazySmp.execute(board, 3).toString());
+        assertEquals(0, lazySmp.getHelperNodes());
+    }
+
+    @Test
+    public void testHelpersSearch()
+    {
+        final Board board = FenUtilities.createBoardFromFen(MIDDLE_GAME);
+        final LazySmp lazySmp = new LazySmp(4);
+        final Moves move = lazySmp.execute(board, 4);
+
+        assertTrue(lazySmp.getHelperNodes() > 0);
+        final MoveTransition transition = board.currentPlayer().makeMove(move);
+        assertTrue(transition.getMoveStatus().isDone());
+        assertEquals(move.toString(), lazySmp.getPrincipalVariation().get(0).toString());
+    }
+
+    @Test
+    public void testFindsMate()
+    {
+        final Board board = FenUtilities.createBoardFromFen("6k1/5ppp/8/8/8/8/8/R5K1 w - - 0 1"); //Ra8 is mate
+        final LazySmp lazySmp = new LazySmp(3);
+        final Moves move = lazySmp.execute(board, 3);
+
+        assertTrue(board.currentPlayer().makeMove(move).getToBoard().currentPlayer().isInCheckMate());
+    }
+
+    @Test
+    public void testTimeBudget()
+    {
+        final Board board = FenUtilities.createBoardFromFen(MIDDLE_GAME);
+        final LazySmp lazySmp = new LazySmp(3);
+        lazySmp.setSearchTime(300);
+
+        final long startTime = System.currentTimeMillis();
+        final Moves move = lazySmp.execute(board, IterativeDeepening.MAX_DEPTH);
+        final long time = System.currentTimeMillis() - startTime;
+
+        assertTrue(board.currentPlayer().makeMove(move).getMoveStatus().isDone());
+        assertTrue(lazySmp.getCompletedDepth() >= 1);
+        assertTrue(lazySmp.getCompletedDepth() < IterativeDeepening.MAX_DEPTH);
+        assertTrue("took " + time + " ms", time < 3000); //The deadline, plus the helpers finishing their last few nodes
+    }
+
+    @Test
+    public void testAspirationWindowsSameAsPrincipalVariationSearch()
+    {
+        final Board board = FenUtilities.createBoardFromFen(MIDDLE_GAME);
+        final PrincipalVariationSearch search = new PrincipalVariationSearch();
+        final Moves expected = search.execute(board, 4);
+
+        final LazySmp lazySmp = new LazySmp(1);
+        lazySmp.setAspirationWindows(true);
+        lazySmp.getMainSearch().setPrincipalVariationSearch(true);
+        assertEquals(expected.toString(), lazySmp.execute(board, 4).toString());
+        assertEquals(search.getScore(), lazySmp.getMainSearch().getScore());
+    }
+
+    @Test
+    public void testTinyTimeBudget()
+    {
+        for (final PerftSuite.PerftPosition position : PerftSuite.POSITIONS)
+        {
+            final Board board = position.getBoard();
+            final LazySmp lazySmp = new LazySmp(2);
+            lazySmp.setQuiet(true);
+            lazySmp.setSearchTime(1);
+            final Moves move = lazySmp.execute(board, IterativeDeepening.MAX_DEPTH);
+
+            assertNotNull(position.toString(), move);
+            assertTrue(position.toString(), board.currentPlayer().makeMove(move).getMoveStatus().isDone());
+        }
+    }
+
+    @Test
+    public void testFixedDepthAfterTimed()
+    {
+        final Board board = FenUtilities.createBoardFromFen(MIDDLE_GAME);
+        final LazySmp lazySmp = new LazySmp(2);
+        lazySmp.setQuiet(true);
+        lazySmp.setSearchTime(1);
+        lazySmp.execute(board, IterativeDeepening.MAX_DEPTH);
+
+        lazySmp.setSearchTime(0); //The last deadline has long passed, it mustn't stop this search
+        lazySmp.execute(board, 4);
+        assertEquals(4, lazySmp.getCompletedDepth());
+        assertFalse(lazySmp.getMainSearch().isTimedOut());
+    }
+}
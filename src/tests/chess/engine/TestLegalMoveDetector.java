@@ -0,0 +1,101 @@
+package tests.chess.engine;
+
+import chess.engine.Color;
+import chess.engine.board.Board;
+import chess.engine.board.FenUtilities;
+import chess.engine.board.LegalMoveDetector;
+import chess.engine.board.Moves;
+import chess.engine.perft.PerftSuite;
+import chess.engine.player.MoveTransition;
+import chess.engine.player.Player;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+//Tests that LegalMoveDetector agrees with making every move and seeing whether any leaves the king safe
+
+public class TestLegalMoveDetector
+{
+    @Test
+    public void testGameEnds()
+    {
+        final Board mate = FenUtilities.createBoardFromFen("R5k1/5ppp/8/8/8/8/8/6K1 b - - 0 1");
+        assertTrue(mate.currentPlayer().isInCheckMate());
+        assertFalse(mate.currentPlayer().isInStalemate());
+
+        final Board stalemate = FenUtilities.createBoardFromFen("7k/5Q2/6K1/8/8/8/8/8 b - - 0 1");
+        assertTrue(stalemate.currentPlayer().isInStalemate());
+        assertFalse(stalemate.currentPlayer().isInCheckMate());
+
+        final Board doubleCheck = FenUtilities.createBoardFromFen("4k3/8/8/8/1b6/8/3r4/R3K2R w - - 0 1"); //Rook and bishop, only Kf1 answers both
+        assertTrue(LegalMoveDetector.hasLegalMove(doubleCheck, Color.WHITE));
+
+        final Board blockOnly = FenUtilities.createBoardFromFen("1r5k/8/8/8/8/8/PPN5/KN6 w - - 0 1"); //Back row mate unless the b1 knight can block
+        assertEquals(hasLegalMoveByMaking(blockOnly.currentPlayer()), LegalMoveDetector.hasLegalMove(blockOnly, Color.WHITE));
+
+        final Board pinned = FenUtilities.createBoardFromFen("k7/8/8/8/8/8/1r6/KBq5 w - - 0 1"); //Stalemate, the bishop is pinned and the king has nowhere to go
+        assertFalse(LegalMoveDetector.hasLegalMove(pinned, Color.WHITE));
+        assertFalse(hasLegalMoveByMaking(pinned.currentPlayer()));
+
+        final Board enPassantOnly = FenUtilities.createBoardFromFen("8/8/8/2k5/3Pp3/8/8/4K3 b - d3 0 1");
+        assertTrue(LegalMoveDetector.hasLegalMove(enPassantOnly, Color.BLACK));
+    }
+
+    @Test
+    public void testMatchesMakingMoves()
+    {
+        final Random random = new Random(25);
+
+        for (final PerftSuite.PerftPosition position : PerftSuite.POSITIONS)
+        {
+            for (int game = 0; game < 20; game++)
+            {
+                Board board = position.getBoard();
+                for (int i = 0; i < 60; i++) //A random game, checking both sides after every move
+                {
+                    for (final Player player : new Player[]{board.currentPlayer(), board.currentPlayer().getOpponent()})
+                    {
+                        if (player == board.currentPlayer() || !board.currentPlayer().isInCheck()) //The side not to move can't be asked to escape a check it couldn't be in
+                        {
+                            assertEquals(position + " " + FenUtilities.createFenFromBoard(board), hasLegalMoveByMaking(player),
+                                         LegalMoveDetector.hasLegalMove(board, player.getColor()));
+                        }
+                    }
+
+                    final List<Board> next = new ArrayList<>();
+                    for (final Moves move : board.currentPlayer().getLegalMoves())
+                    {
+                        final MoveTransition transition = board.currentPlayer().makeMove(move);
+                        if (transition.getMoveStatus().isDone())
+                        {
+                            next.add(transition.getToBoard());
+                        }
+                    }
+                    if (next.isEmpty())
+                    {
+                        break;
+                    }
+                    board = next.get(random.nextInt(next.size()));
+                }
+            }
+        }
+    }
+
+    private static boolean hasLegalMoveByMaking(final Player player) //How Player worked it out before, executing each move in turn
+    {
+        for (final Moves move : player.getLegalMoves())
+        {
+            final MoveTransition transition = player.makeMove(move);
+            if (transition.getMoveStatus().isDone())
+            {
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
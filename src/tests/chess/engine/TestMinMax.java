@@ -0,0 +1,52 @@
+package tests.chess.engine;
+
+import chess.engine.board.Board;
+import chess.engine.board.FenUtilities;
+import chess.engine.board.Moves;
+import chess.engine.perft.PerftSuite;
+import chess.engine.player.ai.MinMax;
+import chess.engine.player.ai.TranspositionTable;
+import org.junit.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+//Tests that searching MinMax's root moves in parallel picks the same moves as searching them one at a time
+
+public class TestMinMax
+{
+    @Test
+    public void testParallelSameAsSerial()
+    {
+        final ForkJoinPool serialPool = new ForkJoinPool(1);
+        final ForkJoinPool parallelPool = new ForkJoinPool(4);
+
+        for (final PerftSuite.PerftPosition position : PerftSuite.POSITIONS)
+        {
+            final Moves serialMove = new MinMax(new TranspositionTable(4), serialPool).execute(position.getBoard(), 3);
+
+            for (int i = 0; i < 3; i++) //Scheduling differs from run to run, the move mustn't
+            {
+                final Moves parallelMove = new MinMax(new TranspositionTable(4), parallelPool).execute(position.getBoard(), 3);
+                assertEquals(position.toString(), serialMove.toString(), parallelMove.toString());
+            }
+        }
+
+        serialPool.shutdown();
+        parallelPool.shutdown();
+    }
+
+    @Test
+    public void testNoMoves()
+    {
+        final MinMax minMax = new MinMax();
+        assertNull(minMax.execute(FenUtilities.createBoardFromFen("7k/5Q2/6K1/8/8/8/8/8 b - - 0 1"), 2)); //Stalemate
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void testRejectsDepthZero()
+    {
+        new MinMax().execute(Board.createStandardBoard(), 0);
+    }
+}
@@ -0,0 +1,78 @@
+package tests.chess.engine;
+
+import chess.engine.board.CompactMove;
+import chess.engine.board.FenUtilities;
+import chess.engine.board.SearchBoard;
+import chess.engine.perft.PerftSuite;
+import chess.engine.player.ai.MoveOrdering;
+import chess.engine.player.ai.MovePicker;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+//Tests the order MovePicker hands out moves in
+
+public class TestMoveOrdering
+{
+    @Test
+    public void testEveryMoveOnce()
+    {
+        final MoveOrdering moveOrdering = new MoveOrdering();
+        final int[] moves = new int[SearchBoard.MAX_MOVES];
+
+        for (final PerftSuite.PerftPosition position : PerftSuite.POSITIONS)
+        {
+            final SearchBoard board = new SearchBoard(position.getBoard());
+            final int numMoves = board.generateMoves(moves);
+            final Set<Integer> generated = new HashSet<>();
+            for (int i = 0; i < numMoves; i++)
+            {
+                generated.add(moves[i]);
+            }
+
+            moveOrdering.recordCutOff(moves[numMoves - 1], 0, 3); //Whether or not it's quiet, it mustn't come out twice
+            final MovePicker picker = moveOrdering.getPicker(0);
+            picker.reset(board, moves[numMoves / 2]);
+
+            final Set<Integer> picked = new HashSet<>();
+            for (int move = picker.next(); move != CompactMove.NO_MOVE; move = picker.next())
+            {
+                assertTrue(position + " " + CompactMove.toString(move), picked.add(move));
+            }
+            assertEquals(position.toString(), generated, picked);
+        }
+    }
+
+    @Test
+    public void testStageOrder()
+    {
+        final SearchBoard board = new SearchBoard(FenUtilities.createBoardFromFen("4k3/8/8/3q1r2/4P3/8/8/3QK3 w - - 0 1"));
+        final int killer = CompactMove.create(60, 53, CompactMove.QUIET); //Ke1-f2
+        final int hashMove = CompactMove.create(59, 51, CompactMove.QUIET); //Qd1-d2
+
+        final MoveOrdering moveOrdering = new MoveOrdering();
+        moveOrdering.recordCutOff(killer, 0, 1);
+        final MovePicker picker = moveOrdering.getPicker(0);
+        picker.reset(board, hashMove);
+
+        assertEquals("d1d2", CompactMove.toString(picker.next()));
+        assertEquals("e4d5", CompactMove.toString(picker.next())); //Queen taken by a pawn
+        assertEquals("d1d5", CompactMove.toString(picker.next())); //Queen taken by a queen
+        assertEquals("e4f5", CompactMove.toString(picker.next())); //Rook taken by a pawn
+        assertEquals("e1f2", CompactMove.toString(picker.next()));
+    }
+
+    @Test
+    public void testCaptureScores()
+    {
+        final SearchBoard board = new SearchBoard(FenUtilities.createBoardFromFen("4k3/8/2p5/3p4/4P3/8/8/3QK3 w - - 0 1"));
+        final SearchBoard undefended = new SearchBoard(FenUtilities.createBoardFromFen("4k3/8/8/3p4/4P3/8/8/3QK3 w - - 0 1"));
+
+        assertTrue(MoveOrdering.getCaptureScore(board, CompactMove.create(36, 27, CompactMove.ATTACK)) >= 0); //exd5
+        assertTrue(MoveOrdering.getCaptureScore(board, CompactMove.create(59, 27, CompactMove.ATTACK)) < 0); //Qxd5 loses the queen to cxd5
+        assertTrue(MoveOrdering.getCaptureScore(undefended, CompactMove.create(59, 27, CompactMove.ATTACK)) >= 0);
+    }
+}
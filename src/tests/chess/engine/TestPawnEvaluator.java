@@ -0,0 +1,67 @@
+package tests.chess.engine;
+
+import chess.engine.Color;
+import chess.engine.board.Board;
+import chess.engine.board.FenUtilities;
+import chess.engine.board.SearchBoard;
+import chess.engine.board.Zobrist;
+import chess.engine.perft.PerftSuite;
+import chess.engine.pieces.Piece;
+import chess.engine.player.ai.PawnEvaluator;
+import chess.engine.player.ai.PawnHashTable;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+//Tests the pawn structure terms, the PawnHashTable they are cached in, and the pawn key SearchBoard keeps for it
+
+public class TestPawnEvaluator
+{
+    @Test
+    public void testPawnTerms()
+    {
+        assertEquals(0, new PawnEvaluator().evaluate(Board.createStandardBoard()));
+
+        //Doubled (-10) and both isolated (-30), but passed from the second and third rows (+25)
+        assertEquals(-15, new PawnEvaluator().evaluate(FenUtilities.createBoardFromFen("4k3/8/8/8/8/4P3/4P3/4K3 w - - 0 1")));
+        assertEquals(15, new PawnEvaluator().evaluate(FenUtilities.createBoardFromFen("4k3/4p3/4p3/8/8/8/8/4K3 w - - 0 1")));
+
+        //White: c4 passed (+25), d3 backward since c4 can't defend it and e5 stops it advancing (-8). Black: e5 isolated (-15)
+        assertEquals(32, new PawnEvaluator().evaluate(FenUtilities.createBoardFromFen("4k3/8/8/4p3/2P5/3P4/8/4K3 w - - 0 1")));
+    }
+
+    @Test
+    public void testTableHits()
+    {
+        final PawnEvaluator pawnEvaluator = new PawnEvaluator(new PawnHashTable(1));
+        final Board board = PerftSuite.POSITIONS.get(1).getBoard();
+
+        final int score = pawnEvaluator.evaluate(board);
+        assertEquals(score, pawnEvaluator.evaluate(new SearchBoard(board)));
+        assertEquals(1, pawnEvaluator.getPawnHashTable().getHits());
+        assertEquals(1, pawnEvaluator.getPawnHashTable().getMisses());
+    }
+
+    @Test
+    public void testIncrementalPawnKey()
+    {
+        final Random random = new Random(22);
+        final int[] moves = new int[SearchBoard.MAX_MOVES];
+
+        for (final PerftSuite.PerftPosition position : PerftSuite.POSITIONS)
+        {
+            final SearchBoard board = new SearchBoard(position.getBoard());
+            for (int i = 0; i < 40; i++)
+            {
+                final int numMoves = board.generateMoves(moves);
+                if (numMoves > 0 && board.makeMove(moves[random.nextInt(numMoves)]))
+                {
+                    assertEquals(position.toString(), Zobrist.pawnKey(board.getPieces(Piece.PieceType.PAWN, Color.WHITE), board.getPieces(Piece.PieceType.PAWN, Color.BLACK)),
+                                 board.getPawnKey());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package tests.chess.engine;
+
+import chess.engine.Color;
+import chess.engine.board.Board;
+import chess.engine.board.BoardUtils;
+import chess.engine.board.Moves;
+import chess.engine.perft.HashedPerft;
+import chess.engine.perft.ParallelPerft;
+import chess.engine.perft.Perft;
+import chess.engine.perft.PerftSuite;
+import chess.engine.pieces.King;
+import chess.engine.pieces.Pawn;
+import chess.engine.pieces.Piece;
+import chess.engine.pieces.Rook;
+import org.junit.Test;
+
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+//Checks move generation against the published perft counts
+
+public class TestPerft
+{
+    private static final int MAX_TEST_DEPTH = 3; //Deeper counts take too long for a unit test, run PerftSuite for those
+
+    @Test
+    public void testSuite()
+    {
+        for (final PerftSuite.PerftPosition position : PerftSuite.POSITIONS)
+        {
+            for (int depth = 1; depth <= Math.min(MAX_TEST_DEPTH, position.getMaxDepth()); depth++)
+            {
+                assertEquals(position + " depth " + depth, position.getExpectedNodes(depth), Perft.perft(position.getBoard(), depth));
+            }
+        }
+    }
+
+    @Test
+    public void testParallelMatchesSerial()
+    {
+        final ParallelPerft parallelPerft = new ParallelPerft(4, 2);
+
+        for (final PerftSuite.PerftPosition position : PerftSuite.POSITIONS)
+        {
+            final int depth = Math.min(MAX_TEST_DEPTH, position.getMaxDepth());
+            assertEquals(position.toString(), position.getExpectedNodes(depth), parallelPerft.perft(position.getBoard(), depth));
+        }
+
+        parallelPerft.shutdown();
+    }
+
+    @Test
+    public void testHashedMatchesSuite()
+    {
+        for (final PerftSuite.PerftPosition position : PerftSuite.POSITIONS)
+        {
+            final HashedPerft hashedPerft = new HashedPerft(1);
+            final int depth = Math.min(MAX_TEST_DEPTH + 1, position.getMaxDepth());
+            assertEquals(position.toString(), position.getExpectedNodes(depth), hashedPerft.perft(position.getBoard(), depth));
+        }
+
+        final HashedPerft hashedPerft = new HashedPerft(1);
+        hashedPerft.perft(Board.createStandardBoard(), 4);
+        assertTrue(hashedPerft.getHits() > 0); //e.g. 1. e3 d6 2. d3 and 1. d3 d6 2. e3
+    }
+
+    @Test
+    public void testDivideAddsUp()
+    {
+        final Board board = Board.createStandardBoard();
+        final Map<String, Long> counts = Perft.divide(board, 3);
+
+        long nodes = 0;
+        for (final long count : counts.values())
+        {
+            nodes += count;
+        }
+
+        assertEquals(20, counts.size());
+        assertEquals(Long.valueOf(600), counts.get("e2e4"));
+        assertEquals(Perft.perft(board, 3), nodes);
+    }
+
+    @Test
+    public void testPromotionLeavesQueen()
+    {
+        final Board.Builder builder = new Board.Builder();
+        builder.setPiece(new King(60, Color.WHITE));
+        builder.setPiece(new King(7, Color.BLACK));
+        builder.setPiece(new Pawn(8, Color.WHITE)); //a7
+        builder.setMoveMaker(Color.WHITE);
+        final Board board = builder.build();
+
+        final Board promoted = board.currentPlayer().makeMove(Moves.MoveFactory.createMove(board, 8, 0)).getToBoard();
+        assertEquals(Piece.PieceType.QUEEN, promoted.getPiece(0).getPieceType());
+    }
+
+    @Test
+    public void testKingSideCastleMovesRookToF1()
+    {
+        final Board.Builder builder = new Board.Builder();
+        builder.setPiece(new King(60, Color.WHITE));
+        builder.setPiece(new Rook(63, Color.WHITE));
+        builder.setPiece(new King(4, Color.BLACK, false));
+        builder.setMoveMaker(Color.WHITE);
+        final Board board = builder.build();
+
+        final Board castled = board.currentPlayer().makeMove(Moves.MoveFactory.createMove(board, 60, 62)).getToBoard();
+        assertEquals(Piece.PieceType.ROOK, castled.getPiece(BoardUtils.getCoordinateAtPosition("f1")).getPieceType());
+        assertFalse(castled.getPiece(BoardUtils.getCoordinateAtPosition("f1")).isFirstMove());
+        assertFalse(castled.getPiece(BoardUtils.getCoordinateAtPosition("g1")).isFirstMove());
+    }
+}
@@ -0,0 +1,78 @@
+package tests.chess.engine;
+
+import chess.engine.board.Board;
+import chess.engine.board.FenUtilities;
+import chess.engine.board.PieceSquareTables;
+import chess.engine.board.SearchBoard;
+import chess.engine.perft.PerftSuite;
+import chess.engine.player.ai.AlphaBeta;
+import chess.engine.player.ai.PieceSquareEvaluator;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+//Tests the piece-square evaluator and the score SearchBoard keeps up to date for it
+
+public class TestPieceSquareEvaluator
+{
+    @Test
+    public void testIncrementalScoreMatchesFullScore()
+    {
+        final Random random = new Random(21);
+        final int[] moves = new int[SearchBoard.MAX_MOVES];
+
+        for (final PerftSuite.PerftPosition position : PerftSuite.POSITIONS)
+        {
+            final SearchBoard board = new SearchBoard(position.getBoard());
+            final int startScore = board.getPieceSquareScore();
+            assertEquals(position.toString(), PieceSquareTables.score(position.getBoard()), startScore);
+
+            int made = 0;
+            for (int i = 0; i < 40; i++) //A random game, checking the score after every move
+            {
+                final int numMoves = board.generateMoves(moves);
+                if (numMoves == 0 || !board.makeMove(moves[random.nextInt(numMoves)]))
+                {
+                    continue;
+                }
+                made++;
+                assertEquals(position.toString(), PieceSquareTables.score(board.toBoard()), board.getPieceSquareScore());
+            }
+
+            for (int i = 0; i < made; i++)
+            {
+                board.unmakeMove();
+            }
+            assertEquals(position.toString(), startScore, board.getPieceSquareScore());
+        }
+    }
+
+    @Test
+    public void testSymmetry()
+    {
+        final PieceSquareEvaluator evaluator = new PieceSquareEvaluator();
+        assertEquals(0, evaluator.evaluate(Board.createStandardBoard(), 0));
+
+        final Board white = FenUtilities.createBoardFromFen("4k3/8/8/8/8/2N5/4P3/4K3 w - - 0 1");
+        final Board black = FenUtilities.createBoardFromFen("4k3/4p3/2n5/8/8/8/8/4K3 b - - 0 1"); //The same position with the colours swapped
+        assertTrue(evaluator.evaluate(white, 0) > 0);
+        assertEquals(-evaluator.evaluate(white, 0), evaluator.evaluate(black, 0));
+        assertEquals(evaluator.evaluate(white, 0), evaluator.evaluate(new SearchBoard(white), 0));
+    }
+
+    @Test
+    public void testCheckmate()
+    {
+        final PieceSquareEvaluator evaluator = new PieceSquareEvaluator();
+        final Board mated = FenUtilities.createBoardFromFen("R5k1/5ppp/8/8/8/8/8/6K1 b - - 0 1");
+
+        assertTrue(evaluator.evaluate(mated, 0) >= 100000); //Black is mated, good for white
+        assertEquals(evaluator.evaluate(mated, 2), evaluator.evaluate(new SearchBoard(mated), 2));
+
+        final AlphaBeta alphaBeta = new AlphaBeta();
+        alphaBeta.setBoardEvaluator(evaluator);
+        assertEquals("Ra8", alphaBeta.execute(FenUtilities.createBoardFromFen("6k1/5ppp/8/8/8/8/8/R5K1 w - - 0 1"), 3).toString());
+    }
+}
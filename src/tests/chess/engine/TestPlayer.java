@@ -1,5 +1,6 @@
 package tests.chess.engine;
 
+import chess.engine.Color;
 import chess.engine.board.Board;
 import chess.engine.board.BoardUtils;
 import chess.engine.board.Moves;
@@ -9,6 +10,7 @@ import org.junit.Test;
 
 import static junit.framework.TestCase.assertTrue;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 
 //Tests the player class
 
@@ -53,4 +55,29 @@ public class TestPlayer
                 .makeMove(m1);
         assertFalse(t1.getMoveStatus().isDone());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testEnPassantIsGenerated() {
+        Board board = Board.createStandardBoard();
+        final String[] moves = {"e2", "e4", "a7", "a6", "e4", "e5", "d7", "d5"};
+        for (int i = 0; i < moves.length; i += 2) {
+            board = board.currentPlayer().makeMove(Moves.MoveFactory.createMove(board, BoardUtils.getCoordinateAtPosition(moves[i]),
+                    BoardUtils.getCoordinateAtPosition(moves[i + 1]))).getToBoard();
+        }
+        final Moves enPassant = Moves.MoveFactory.createMove(board, BoardUtils.getCoordinateAtPosition("e5"),
+                BoardUtils.getCoordinateAtPosition("d6"));
+        assertTrue(enPassant instanceof Moves.PawnEnPassantAttackMove);
+        final Board after = board.currentPlayer().makeMove(enPassant).getToBoard();
+        assertNull(after.getPiece(BoardUtils.getCoordinateAtPosition("d5")));
+    }
+
+    @Test
+    public void testSquareAttacked() {
+        final Board board = Board.createStandardBoard();
+        assertTrue(board.isSquareAttacked(BoardUtils.getCoordinateAtPosition("f3"), Color.WHITE));
+        assertTrue(board.isSquareAttacked(BoardUtils.getCoordinateAtPosition("d6"), Color.BLACK));
+        assertFalse(board.isSquareAttacked(BoardUtils.getCoordinateAtPosition("e4"), Color.WHITE));
+        assertFalse(board.isSquareAttacked(BoardUtils.getCoordinateAtPosition("e4"), Color.BLACK));
+        assertFalse(board.currentPlayer().isInCheck());
+    }
+}
@@ -0,0 +1,98 @@
+package tests.chess.engine;
+
+import chess.engine.board.Board;
+import chess.engine.board.BoardUtils;
+import chess.engine.board.Moves;
+import chess.engine.board.SearchBoard;
+import chess.engine.player.MoveTransition;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+//Tests the SearchBoard class
+
+public class TestSearchBoard
+{
+    @Test
+    public void testMakeUnmakeRestoresBoard()
+    {
+        final Board board = Board.createStandardBoard();
+        final SearchBoard searchBoard = new SearchBoard(board);
+        final String original = searchBoard.toBoard().toString();
+
+        final int[] moves = new int[SearchBoard.MAX_MOVES];
+        final int[] replies = new int[SearchBoard.MAX_MOVES];
+        final int numMoves = searchBoard.generateMoves(moves);
+
+        for (int i = 0; i < numMoves; i++)
+        {
+            assertTrue(searchBoard.makeMove(moves[i]));
+            final int numReplies = searchBoard.generateMoves(replies);
+            for (int j = 0; j < numReplies; j++)
+            {
+                assertTrue(searchBoard.makeMove(replies[j]));
+                searchBoard.unmakeMove();
+            }
+            searchBoard.unmakeMove();
+            assertEquals(searchBoard.toBoard().toString(), original);
+        }
+    }
+
+    @Test
+    public void testLegalMovesMatchBoard()
+    {
+        Board board = Board.createStandardBoard();
+        final String[] game = {"e2", "e4", "d7", "d5", "e4", "d5", "d8", "d5", "b1", "c3", "d5", "e5"}; //Black queen checks the white king
+
+        for (int i = 0; i < game.length; i += 2)
+        {
+            final MoveTransition transition = board.currentPlayer().makeMove(Moves.MoveFactory.createMove(board,
+                    BoardUtils.getCoordinateAtPosition(game[i]), BoardUtils.getCoordinateAtPosition(game[i + 1])));
+            assertTrue(transition.getMoveStatus().isDone());
+            board = transition.getToBoard();
+        }
+
+        int boardLegalMoves = 0;
+        for (final Moves move : board.currentPlayer().getLegalMoves())
+        {
+            if (board.currentPlayer().makeMove(move).getMoveStatus().isDone())
+            {
+                boardLegalMoves++;
+            }
+        }
+
+        final SearchBoard searchBoard = new SearchBoard(board);
+        final int[] moves = new int[SearchBoard.MAX_MOVES];
+        final int numMoves = searchBoard.generateMoves(moves);
+        int searchBoardLegalMoves = 0;
+        for (int i = 0; i < numMoves; i++)
+        {
+            if (searchBoard.makeMove(moves[i]))
+            {
+                searchBoardLegalMoves++;
+                searchBoard.unmakeMove();
+            }
+        }
+
+        assertTrue(searchBoard.isInCheck());
+        assertEquals(searchBoardLegalMoves, boardLegalMoves);
+    }
+
+    @Test
+    public void testFoolsMate()
+    {
+        Board board = Board.createStandardBoard();
+        final String[] game = {"f2", "f3", "e7", "e5", "g2", "g4", "d8", "h4"};
+
+        for (int i = 0; i < game.length; i += 2)
+        {
+            board = board.currentPlayer().makeMove(Moves.MoveFactory.createMove(board,
+                    BoardUtils.getCoordinateAtPosition(game[i]), BoardUtils.getCoordinateAtPosition(game[i + 1]))).getToBoard();
+        }
+
+        final SearchBoard searchBoard = new SearchBoard(board);
+        assertTrue(searchBoard.isInCheck());
+        assertFalse(searchBoard.hasLegalMoves());
+        assertTrue(board.currentPlayer().isInCheckMate());
+    }
+}
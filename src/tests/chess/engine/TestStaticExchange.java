@@ -0,0 +1,45 @@
+package tests.chess.engine;
+
+import chess.engine.board.Board;
+import chess.engine.board.BoardUtils;
+import chess.engine.board.CompactMove;
+import chess.engine.board.FenUtilities;
+import chess.engine.board.Moves;
+import chess.engine.board.SearchBoard;
+import chess.engine.board.StaticExchange;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+//Tests the static exchange evaluator, the positions are from https://www.chessprogramming.org/SEE_-_The_Swap_Algorithm
+
+public class TestStaticExchange
+{
+    @Test
+    public void testUndefendedPawn()
+    {
+        assertExchange("1k1r4/1pp4p/p7/4p3/8/P5P1/1PP4P/2K1R3 w - - 0 1", "e1", "e5", 100);
+    }
+
+    @Test
+    public void testDefendedPawnWithXRays()
+    {
+        assertExchange("1k1r3q/1ppn3p/p4b2/4p3/8/P2N2P1/1PP1R1BP/2K1Q3 w - - 0 1", "d3", "e5", -200); //The knight is lost for a pawn
+    }
+
+    @Test
+    public void testEvenTrade()
+    {
+        assertExchange("4k3/8/2p5/3n4/8/2N5/8/4K3 w - - 0 1", "c3", "d5", 0); //Knight for knight, then the pawn takes back
+    }
+
+    private static void assertExchange(final String fen, final String from, final String to, final int expected)
+    {
+        final Board board = FenUtilities.createBoardFromFen(fen);
+        final Moves move = Moves.MoveFactory.createMove(board, BoardUtils.getCoordinateAtPosition(from), BoardUtils.getCoordinateAtPosition(to));
+
+        assertTrue(move instanceof Moves.AttackMove);
+        assertEquals(expected, StaticExchange.evaluate(board, (Moves.AttackMove) move));
+        assertEquals(expected, new SearchBoard(board).staticExchange(CompactMove.fromMove(move)));
+    }
+}
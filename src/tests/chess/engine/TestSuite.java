@@ -6,7 +6,22 @@ import org.junit.runners.Suite;
 @RunWith(Suite.class)
 @Suite.SuiteClasses({TestBoard.class,
                      TestPlayer.class,
-                     TestPiece.class})
+                     TestPiece.class,
+                     TestSearchBoard.class,
+                     TestZobrist.class,
+                     TestTranspositionTable.class,
+                     TestCompactMove.class,
+                     TestPerft.class,
+                     TestFen.class,
+                     TestMoveOrdering.class,
+                     TestAlphaBeta.class,
+                     TestStaticExchange.class,
+                     TestLazySmp.class,
+                     TestMinMax.class,
+                     TestPieceSquareEvaluator.class,
+                     TestPawnEvaluator.class,
+                     TestCachingBoardEvaluator.class,
+                     TestLegalMoveDetector.class})
 
 public class TestSuite
 {
@@ -0,0 +1,112 @@
+package tests.chess.engine;
+
+import chess.engine.board.Board;
+import chess.engine.board.BoardUtils;
+import chess.engine.board.Moves;
+import chess.engine.player.ai.AlphaBeta;
+import chess.engine.player.ai.IterativeDeepening;
+import chess.engine.player.ai.LazySmp;
+import chess.engine.player.ai.MinMax;
+import chess.engine.player.ai.PrincipalVariationSearch;
+import chess.engine.player.ai.TranspositionTable;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+//Tests the transposition table shared by the searches
+
+public class TestTranspositionTable
+{
+    @Test
+    public void testStoreAndProbe()
+    {
+        final TranspositionTable table = new TranspositionTable(1);
+        assertEquals(1 << 16, table.size()); //1 MB of 16 byte entries
+
+        final long key = 0x123456789ABCDEFL;
+        assertEquals(TranspositionTable.NO_ENTRY, table.probe(key));
+
+        table.store(key, 0xC3F7, -1234567, 5, TranspositionTable.LOWER_BOUND);
+        final long entry = table.probe(key);
+        assertEquals(0xC3F7, TranspositionTable.getMove(entry));
+        assertEquals(-1234567, TranspositionTable.getScore(entry));
+        assertEquals(5, TranspositionTable.getDepth(entry));
+        assertEquals(TranspositionTable.LOWER_BOUND, TranspositionTable.getBound(entry));
+
+        assertEquals(1, table.getHits());
+        assertEquals(1, table.getMisses());
+    }
+
+    @Test
+    public void testOtherPositionInSameSlotMisses()
+    {
+        final TranspositionTable table = new TranspositionTable(1);
+        final long key = 42L;
+        final long other = key + ((long) table.size() << 8); //Same slot, different key
+
+        table.store(key, 1, 10, 3, TranspositionTable.EXACT);
+        assertEquals(TranspositionTable.NO_ENTRY, table.probe(other));
+        assertNotEquals(TranspositionTable.NO_ENTRY, table.probe(key));
+    }
+
+    @Test
+    public void testReplacement()
+    {
+        final TranspositionTable table = new TranspositionTable(1);
+        final long key = 42L;
+        final long other = key + ((long) table.size() << 8);
+
+        table.store(key, 1, 10, 6, TranspositionTable.EXACT);
+        table.store(other, 2, 20, 2, TranspositionTable.EXACT); //Shallower, the deeper result stays
+        assertEquals(6, TranspositionTable.getDepth(table.probe(key)));
+
+        table.newSearch();
+        table.store(other, 2, 20, 2, TranspositionTable.EXACT); //Left over from the last search, gets replaced
+        assertEquals(2, TranspositionTable.getDepth(table.probe(other)));
+        assertEquals(TranspositionTable.NO_ENTRY, table.probe(key));
+    }
+
+    @Test
+    public void testAgedOncePerMove()
+    {
+        final Board board = Board.createStandardBoard();
+        final TranspositionTable table = new TranspositionTable(1);
+
+        new AlphaBeta(table).execute(board, 3);
+        assertEquals(1, table.getGeneration());
+
+        new PrincipalVariationSearch(table).execute(board, 4); //Several depths and windows, still one move
+        assertEquals(2, table.getGeneration());
+
+        new IterativeDeepening(60000, table).execute(board, 4);
+        assertEquals(3, table.getGeneration());
+
+        final LazySmp lazySmp = new LazySmp(3, table);
+        lazySmp.setQuiet(true);
+        lazySmp.execute(board, 4);
+        assertEquals(4, table.getGeneration());
+    }
+
+    @Test
+    public void testAlphaBetaWithTableMatchesMinMax()
+    {
+        Board board = Board.createStandardBoard();
+        final String[] opening = {"e2", "e4", "d7", "d5", "g1", "f3", "b8", "c6"};
+        for (int i = 0; i < opening.length; i += 2)
+        {
+            board = board.currentPlayer().makeMove(Moves.MoveFactory.createMove(board, BoardUtils.getCoordinateAtPosition(opening[i]),
+                                                                                 BoardUtils.getCoordinateAtPosition(opening[i + 1]))).getToBoard();
+        }
+
+        final TranspositionTable table = new TranspositionTable(4);
+        final AlphaBeta alphaBeta = new AlphaBeta(table);
+        alphaBeta.setQuiescence(false); //MinMax scores leaves as they stand
+        alphaBeta.execute(board, 2); //Leaves results behind for the next search to use
+
+        final Moves minMaxMove = new MinMax().execute(board, 3);
+        final Moves alphaBetaMove = alphaBeta.execute(board, 3);
+        assertEquals(minMaxMove.getCurrentCoordinate(), alphaBetaMove.getCurrentCoordinate());
+        assertEquals(minMaxMove.getDestination(), alphaBetaMove.getDestination());
+        assertTrue(table.getHits() > 0);
+    }
+}
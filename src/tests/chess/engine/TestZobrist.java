@@ -0,0 +1,90 @@
+package tests.chess.engine;
+
+import chess.engine.board.Board;
+import chess.engine.board.BoardUtils;
+import chess.engine.board.Moves;
+import chess.engine.board.SearchBoard;
+import chess.engine.pieces.Piece;
+import chess.engine.player.MoveTransition;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+//Tests the Zobrist keys kept by Board and SearchBoard
+
+public class TestZobrist
+{
+    @Test
+    public void testIncrementalKeyMatchesRecalculated()
+    {
+        final String[] game = {"e2", "e4", "d7", "d5", "e4", "d5", "g8", "f6", "g1", "f3", "f6", "d5",
+                               "f1", "c4", "c8", "g4", "e1", "g1", "d8", "d6", "c4", "d5", "d6", "d5"}; //Captures, castling and a queen trade
+
+        Board board = Board.createStandardBoard();
+        assertEquals(board.getZobristKey(), rebuild(board).getZobristKey());
+
+        for (int i = 0; i < game.length; i += 2)
+        {
+            board = play(board, game[i], game[i + 1]);
+            assertEquals(board.getZobristKey(), rebuild(board).getZobristKey());
+        }
+    }
+
+    @Test
+    public void testTranspositionsShareKey()
+    {
+        final Board start = Board.createStandardBoard();
+        final Board first = play(play(play(play(start, "e2", "e3"), "e7", "e6"), "d2", "d3"), "d7", "d6");
+        final Board second = play(play(play(play(start, "d2", "d3"), "d7", "d6"), "e2", "e3"), "e7", "e6");
+        assertEquals(first.getZobristKey(), second.getZobristKey());
+
+        final Board knightsBack = play(play(play(play(start, "g1", "f3"), "g8", "f6"), "f3", "g1"), "f6", "g8");
+        assertEquals(start.getZobristKey(), knightsBack.getZobristKey());
+
+        final Board jumped = play(start, "e2", "e4");
+        final Board stepped = play(play(play(play(start, "e2", "e3"), "g8", "f6"), "e3", "e4"), "f6", "g8");
+        assertNotEquals(jumped.getZobristKey(), play(start, "e2", "e3").getZobristKey());
+        assertNotEquals(jumped.getZobristKey(), stepped.getZobristKey()); //Same pieces, but different side to move
+    }
+
+    @Test
+    public void testSearchBoardKeyMatchesBoard()
+    {
+        final Board board = play(play(Board.createStandardBoard(), "e2", "e4"), "d7", "d5");
+        final SearchBoard searchBoard = new SearchBoard(board);
+        assertEquals(searchBoard.getZobristKey(), board.getZobristKey());
+
+        final int[] moves = new int[SearchBoard.MAX_MOVES];
+        final int numMoves = searchBoard.generateMoves(moves);
+        for (int i = 0; i < numMoves; i++)
+        {
+            if (searchBoard.makeMove(moves[i]))
+            {
+                assertEquals(searchBoard.getZobristKey(), searchBoard.toBoard().getZobristKey());
+                searchBoard.unmakeMove();
+            }
+        }
+
+        assertEquals(searchBoard.getZobristKey(), board.getZobristKey());
+    }
+
+    private static Board play(final Board board, final String from, final String to)
+    {
+        final MoveTransition transition = board.currentPlayer().makeMove(Moves.MoveFactory.createMove(board,
+                BoardUtils.getCoordinateAtPosition(from), BoardUtils.getCoordinateAtPosition(to)));
+        assertTrue(transition.getMoveStatus().isDone());
+        return transition.getToBoard();
+    }
+
+    private static Board rebuild(final Board board) //Same position through Board.Builder, so the key is calculated from scratch
+    {
+        final Board.Builder builder = new Board.Builder();
+        for (final Piece piece : board.getAllPieces())
+        {
+            builder.setPiece(piece);
+        }
+        builder.setMoveMaker(board.currentPlayer().getColor());
+        builder.setEnPassantPawn(board.getEnPassantPawn());
+        return builder.build();
+    }
+}